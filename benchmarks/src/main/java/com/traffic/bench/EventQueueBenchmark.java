@@ -0,0 +1,42 @@
+package com.traffic.bench;
+
+import com.traffic.core.EventQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Hold model for the discrete-event heap: poll the earliest event, schedule one in its future
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventQueueBenchmark {
+
+    @Param({"16", "1024"})
+    public int pending;
+
+    private EventQueue queue;
+    private long[] delays;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom rng = new SplittableRandom(3);
+        delays = new long[4096];
+        for (int i = 0; i < delays.length; i++) delays[i] = rng.nextInt(5000);
+
+        queue = new EventQueue();
+        for (int i = 0; i < pending; i++) queue.schedule(delays[i & 4095], 0, i);
+    }
+
+    @Benchmark
+    public long pollAndSchedule() {
+        queue.poll();
+        long t = queue.polledTime();
+        queue.schedule(t + delays[next++ & 4095], queue.polledKind(), queue.polledData());
+        return t;
+    }
+}
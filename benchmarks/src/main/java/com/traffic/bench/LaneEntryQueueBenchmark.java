@@ -0,0 +1,71 @@
+package com.traffic.bench;
+
+import com.traffic.core.IndexedLaneHeap;
+import com.traffic.core.LaneEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// LaneEntry.compareTo under heap churn, the way TrafficScheduler uses it: remove(entry) + re-add
+// after a score change, and poll + add to rotate. java.util.PriorityQueue (linear remove) against
+// IndexedLaneHeap (O(log n) remove through the entry's own slot).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LaneEntryQueueBenchmark {
+
+    @Param({"4", "64", "512"})
+    public int approaches;
+
+    @Param({"priorityQueue", "indexed"})
+    public String impl;
+
+    private LaneEntry[] entries;
+    private PriorityQueue<LaneEntry> queue;
+    private IndexedLaneHeap heap;
+    private int[] scores;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        entries = new LaneEntry[approaches];
+        for (int i = 0; i < approaches; i++) entries[i] = new LaneEntry("R" + i, 0);
+        if ("indexed".equals(impl)) heap = new IndexedLaneHeap(Arrays.asList(entries));
+        else queue = new PriorityQueue<>(Arrays.asList(entries));
+        SplittableRandom rng = new SplittableRandom(7);
+        scores = new int[4096];
+        for (int i = 0; i < scores.length; i++) scores[i] = rng.nextInt(20);
+    }
+
+    @Benchmark
+    public LaneEntry updateAndRotate() {
+        int i = next++;
+        LaneEntry e = entries[i % approaches];
+
+        if (heap != null) {
+            heap.remove(e);
+            e.setPriorityScore(scores[i & 4095]);
+            e.setVehicleCount(scores[(i + 1) & 4095]);
+            heap.add(e);
+
+            LaneEntry served = heap.poll();
+            heap.add(served);
+            return served;
+        }
+
+        queue.remove(e);
+        e.setPriorityScore(scores[i & 4095]);
+        e.setVehicleCount(scores[(i + 1) & 4095]);
+        queue.add(e);
+
+        LaneEntry served = queue.poll();
+        queue.add(served);
+        return served;
+    }
+}
@@ -0,0 +1,52 @@
+package com.traffic.bench;
+
+import com.traffic.core.VehicleId;
+import com.traffic.ingest.LaneRecordHandler;
+import com.traffic.ingest.LaneRecordParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Parsing one "id,lane,time" lane record: the old TrafficSimulator.processLine approach
+// (String line, split, trim, parseInt) against LaneRecordParser reading the bytes in place.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LaneParseBenchmark {
+
+    private static final String LINE = "A2B1-10004,2,1766812345678";
+
+    private byte[] bytes;
+    private ByteBuffer direct;
+    private Blackhole bh;
+    private final LaneRecordHandler handler = (id, lane, time) -> bh.consume(id + lane + time);
+
+    @Setup
+    public void setUp(Blackhole bh) {
+        this.bh = bh;
+        bytes = LINE.getBytes(StandardCharsets.US_ASCII);
+        direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+    }
+
+    // What processLine did per line after RandomAccessFile.readLine() built the String
+    @Benchmark
+    public long splitLine() {
+        String line = new String(bytes, StandardCharsets.ISO_8859_1);
+        String[] parts = line.split(",");
+        long id = VehicleId.parse(parts[0].trim());
+        int lane = Integer.parseInt(parts[1].trim());
+        return id + lane;
+    }
+
+    @Benchmark
+    public boolean parseBytes() {
+        return LaneRecordParser.parse(direct, 0, bytes.length, handler);
+    }
+}
@@ -0,0 +1,50 @@
+package com.traffic.bench;
+
+import com.traffic.core.ParallelTickExecutor;
+import com.traffic.core.RoadNetwork;
+import com.traffic.log.EventLog;
+import com.traffic.log.LogLevel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// One tick of a 50x50 RoadNetwork, serial (threads = 1) or on the fork/join executor,
+// to check how the parallel tick scales with the worker count.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NetworkTickBenchmark {
+
+    @Param({"50"})
+    public int size;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    private RoadNetwork network;
+    private ParallelTickExecutor executor;
+
+    @Setup
+    public void setUp() {
+        EventLog.setLevel(LogLevel.WARN);
+        network = new RoadNetwork(size, size, 0.3, 42);
+        if (threads > 1) executor = new ParallelTickExecutor(network, threads);
+        // fill the grid before measuring
+        for (int i = 0; i < 200; i++) tick();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor != null) executor.close();
+    }
+
+    @Benchmark
+    public long tick() {
+        if (executor == null) network.step();
+        else executor.step();
+        return network.getTicks();
+    }
+}
@@ -0,0 +1,47 @@
+package com.traffic.bench;
+
+import com.traffic.core.LaneEntry;
+import com.traffic.core.TrafficScheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Per-cycle scheduler cost: CheckandUpdatePriority for every road, then serverAndRotateLane,
+// with queue counts replayed from a pre-generated table so both normal and priority mode are hit.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SchedulerBenchmark {
+
+    private static final int CYCLES = 4096;
+
+    private LaneEntry[] entries;
+    private TrafficScheduler scheduler;
+    private int[] counts;
+    private int cycle;
+
+    @Setup
+    public void setUp() {
+        entries = new LaneEntry[]{
+                new LaneEntry("A", 0), new LaneEntry("B", 0), new LaneEntry("C", 0), new LaneEntry("D", 0)};
+        scheduler = new TrafficScheduler(Arrays.asList(entries));
+
+        SplittableRandom rng = new SplittableRandom(42);
+        counts = new int[CYCLES * entries.length * 2];
+        for (int i = 0; i < counts.length; i++) counts[i] = rng.nextInt(16);
+    }
+
+    @Benchmark
+    public String cycle() {
+        int base = (cycle++ & (CYCLES - 1)) * entries.length * 2;
+        for (int i = 0; i < entries.length; i++) {
+            scheduler.CheckandUpdatePriority(entries[i], counts[base + 2 * i], counts[base + 2 * i + 1]);
+        }
+        return scheduler.serverAndRotateLane();
+    }
+}
@@ -0,0 +1,56 @@
+package com.traffic.bench;
+
+import com.traffic.core.LinkedVehicleQueue;
+import com.traffic.core.RingVehicleQueue;
+import com.traffic.core.SpscVehicleQueue;
+import com.traffic.core.VehicleId;
+import com.traffic.core.VehicleQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Enqueue/dequeue throughput of the VehicleQueue implementations at a steady queue depth.
+// Run with -prof gc to compare allocation per operation (CarNode per enqueue vs none).
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VehicleQueueBenchmark {
+
+    @Param({"ring", "linked", "spsc"})
+    public String impl;
+
+    @Param({"8", "1024"})
+    public int depth;
+
+    private VehicleQueue queue;
+    private long nextId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        switch (impl) {
+            case "ring": queue = new RingVehicleQueue(); break;
+            case "linked": queue = new LinkedVehicleQueue(); break;
+            default: queue = new SpscVehicleQueue(); break;
+        }
+        for (int i = 0; i < depth; i++) queue.enqueue(VehicleId.of(0, 2, 1, 1, nextId++));
+    }
+
+    @Benchmark
+    public long enqueueDequeue() {
+        queue.enqueue(VehicleId.of(0, 2, 1, 1, nextId++));
+        return queue.dequeue();
+    }
+
+    // Burst in, burst out: exercises ring growth/wrap and list node churn
+    @Benchmark
+    @OperationsPerInvocation(64)
+    public long burst() {
+        for (int i = 0; i < 64; i++) queue.enqueue(VehicleId.of(0, 2, 1, 1, nextId++));
+        long last = 0;
+        for (int i = 0; i < 64; i++) last = queue.dequeue();
+        return last;
+    }
+}
@@ -0,0 +1,51 @@
+package com.traffic.core;
+
+// Sizes the green to the longer of the road's source lanes: demand x headway, clamped to
+// [minGreenMs, maxGreenMs]; each lane may then release greenMs / headway cars.
+// The headway (ms per car per lane, the inverse of the discharge rate) is a fixed parameter: the
+// engine releases cars instantly, so there is no real discharge to measure and learn it from.
+public class AdaptivePhaseController implements PhaseController {
+
+    public static final long DEFAULT_MIN_GREEN_MS = 2000;
+    public static final long DEFAULT_MAX_GREEN_MS = 12000;
+    public static final long DEFAULT_HEADWAY_MS = 2000;
+
+    private final long minGreenMs;
+    private final long maxGreenMs;
+    private final long headwayMs;
+
+    public AdaptivePhaseController() {
+        this(DEFAULT_MIN_GREEN_MS, DEFAULT_MAX_GREEN_MS, DEFAULT_HEADWAY_MS);
+    }
+
+    public AdaptivePhaseController(long minGreenMs, long maxGreenMs, long headwayMs) {
+        if (minGreenMs <= 0 || maxGreenMs < minGreenMs || headwayMs <= 0) {
+            throw new IllegalArgumentException("Invalid adaptive bounds: " + minGreenMs + ":" + maxGreenMs + ":" + headwayMs);
+        }
+        this.minGreenMs = minGreenMs;
+        this.maxGreenMs = maxGreenMs;
+        this.headwayMs = headwayMs;
+    }
+
+    @Override
+    public long greenMs(Lane lane) {
+        int demand = Math.max(lane.prioritySize(), lane.leftTurnSize());
+        long wanted = demand * headwayMs;
+        return Math.max(minGreenMs, Math.min(maxGreenMs, wanted));
+    }
+
+    @Override
+    public int releaseBudget(Lane lane, long greenMs) {
+        return Math.max(1, (int) (greenMs / headwayMs));
+    }
+
+    // Discharge rate assumed, cars per second per lane
+    public double getDischargeRate() {
+        return 1000.0 / headwayMs;
+    }
+
+    @Override
+    public String toString() {
+        return "adaptive:" + minGreenMs + ":" + maxGreenMs + ":" + headwayMs;
+    }
+}
@@ -0,0 +1,10 @@
+package com.traffic.core;
+
+// Supplies vehicles to the discrete-event simulator
+public interface ArrivalSource {
+
+    long NO_MORE = -1L;
+
+    // Enqueue the vehicles arriving at 'now' and return the time of the next arrival (or NO_MORE)
+    long arrive(long now, SimulationEngine engine);
+}
@@ -2,18 +2,27 @@ package com.traffic.core;
 
 public class CarNode {
 
-    private  String vehicleId;
+    private final long vehicleId;
+    private final long enqueuedAt;
 
     private CarNode next;
 
-    public CarNode(String vehicleId) {
+    public CarNode(long vehicleId) {
+        this(vehicleId, 0L);
+    }
+
+    public CarNode(long vehicleId, long enqueuedAt) {
         this.vehicleId = vehicleId;
+        this.enqueuedAt = enqueuedAt;
         this.next = null;
     }
     //Getters and Setters
-    public String getVehicleId() {
+    public long getVehicleId() {
         return vehicleId;
     }
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
     public CarNode getNext() {
         return next;
     }
@@ -0,0 +1,96 @@
+package com.traffic.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Discrete-event driver for SimulationEngine: arrivals, light phases and departures are
+// events in a time-ordered heap and the clock jumps straight to the next event.
+public class DiscreteEventSimulator {
+
+    public static final int ARRIVAL = 0;
+    public static final int GREEN = 1;
+    public static final int YELLOW = 2;
+    public static final int RED = 3;
+    public static final int DEPARTURE = 4;
+
+    // Time a released car needs to clear the junction (matches the GUI PathTransition)
+    public static final long CROSSING_MS = 3500;
+
+    private final SimulationEngine engine;
+    private final EventQueue events = new EventQueue();
+    private final List<ArrivalSource> sources = new ArrayList<>();
+
+    private long now;
+    private long processed;
+    private long departed;
+
+    public DiscreteEventSimulator(SimulationEngine engine) {
+        this.engine = engine;
+        now = engine.getClock();
+        // first cycle starts immediately
+        events.schedule(now, GREEN, -1);
+    }
+
+    public void addSource(ArrivalSource source, long firstArrival) {
+        sources.add(source);
+        events.schedule(firstArrival, ARRIVAL, sources.size() - 1);
+    }
+
+    // Process every event up to and including 'until', returns the number processed
+    public long runUntil(long until) {
+        long count = 0;
+        while (!events.isEmpty() && events.peekTime() <= until) {
+            events.poll();
+            now = events.polledTime();
+            engine.advanceTo(now);
+            dispatch(events.polledKind(), events.polledData());
+            count++;
+        }
+        if (until > now) {
+            now = until;
+            engine.advanceTo(until);
+        }
+        processed += count;
+        return count;
+    }
+
+    private void dispatch(int kind, long payload) {
+        switch (kind) {
+            case ARRIVAL: {
+                int source = (int) payload;
+                long next = sources.get(source).arrive(now, engine);
+                if (next != ArrivalSource.NO_MORE) events.schedule(Math.max(next, now), ARRIVAL, source);
+                break;
+            }
+            case GREEN: {
+                String road = engine.selectRoad();
+                int roadIndex = Roads.indexOf(road);
+                long releasedBefore = engine.getReleased();
+                long green = engine.startGreen(road);
+                long released = engine.getReleased() - releasedBefore;
+                for (long i = 0; i < released; i++) events.schedule(now + CROSSING_MS, DEPARTURE, roadIndex);
+                events.schedule(now + green, YELLOW, roadIndex);
+                break;
+            }
+            case YELLOW:
+                engine.setPhase(Roads.idOf((int) payload), LightState.YELLOW);
+                events.schedule(now + SimulationEngine.YELLOW_MS, RED, payload);
+                break;
+            case RED:
+                engine.setPhase(Roads.idOf((int) payload), LightState.RED);
+                events.schedule(now, GREEN, -1);
+                break;
+            case DEPARTURE:
+                departed++;
+                break;
+            default:
+                throw new IllegalStateException("Unknown event kind: " + kind);
+        }
+    }
+
+    public SimulationEngine getEngine() { return engine; }
+    public long getNow() { return now; }
+    public long getProcessed() { return processed; }
+    public long getDeparted() { return departed; }
+    public int getPending() { return events.size(); }
+}
@@ -0,0 +1,11 @@
+package com.traffic.core;
+
+// How many vehicles wait (L2 + L3) on the approach a car leaving through exitRoad will join at the
+// next junction. A lone junction has nothing downstream; RoadNetwork answers from the neighbours.
+@FunctionalInterface
+public interface DownstreamDepth {
+
+    DownstreamDepth NONE = exitRoad -> 0;
+
+    int depth(int exitRoad);
+}
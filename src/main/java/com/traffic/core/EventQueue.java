@@ -0,0 +1,121 @@
+package com.traffic.core;
+
+import java.util.Arrays;
+
+// Time-ordered binary min-heap of simulation events stored in parallel primitive arrays,
+// so scheduling and polling allocate nothing once the arrays have grown.
+// Events with the same time are returned in the order they were scheduled.
+public class EventQueue {
+
+    private long[] times;
+    private long[] seqs;
+    private int[] kinds;
+    private long[] data;
+    private int size;
+    private long nextSeq;
+
+    // Fields of the event returned by the last poll()
+    private long polledTime;
+    private int polledKind;
+    private long polledData;
+
+    public EventQueue() {
+        this(64);
+    }
+
+    public EventQueue(int initialCapacity) {
+        int cap = Math.max(2, initialCapacity);
+        times = new long[cap];
+        seqs = new long[cap];
+        kinds = new int[cap];
+        data = new long[cap];
+    }
+
+    public void schedule(long time, int kind, long payload) {
+        if (size == times.length) grow();
+        int i = size++;
+        long seq = nextSeq++;
+
+        // sift up
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(time, seq, times[parent], seqs[parent])) break;
+            move(parent, i);
+            i = parent;
+        }
+        set(i, time, seq, kind, payload);
+    }
+
+    // Removes the earliest event; read it with polledTime()/polledKind()/polledData()
+    public boolean poll() {
+        if (size == 0) return false;
+
+        polledTime = times[0];
+        polledKind = kinds[0];
+        polledData = data[0];
+
+        int last = --size;
+        if (last > 0) {
+            long time = times[last];
+            long seq = seqs[last];
+            int kind = kinds[last];
+            long payload = data[last];
+
+            // sift down
+            int i = 0;
+            int half = last >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int right = child + 1;
+                if (right < last && before(times[right], seqs[right], times[child], seqs[child])) child = right;
+                if (!before(times[child], seqs[child], time, seq)) break;
+                move(child, i);
+                i = child;
+            }
+            set(i, time, seq, kind, payload);
+        }
+        return true;
+    }
+
+    public long peekTime() {
+        if (size == 0) throw new IllegalStateException("Event queue is empty");
+        return times[0];
+    }
+
+    public long polledTime() { return polledTime; }
+    public int polledKind() { return polledKind; }
+    public long polledData() { return polledData; }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private static boolean before(long t1, long s1, long t2, long s2) {
+        return t1 < t2 || (t1 == t2 && s1 < s2);
+    }
+
+    private void move(int from, int to) {
+        times[to] = times[from];
+        seqs[to] = seqs[from];
+        kinds[to] = kinds[from];
+        data[to] = data[from];
+    }
+
+    private void set(int i, long time, long seq, int kind, long payload) {
+        times[i] = time;
+        seqs[i] = seq;
+        kinds[i] = kind;
+        data[i] = payload;
+    }
+
+    private void grow() {
+        int cap = times.length * 2;
+        times = Arrays.copyOf(times, cap);
+        seqs = Arrays.copyOf(seqs, cap);
+        kinds = Arrays.copyOf(kinds, cap);
+        data = Arrays.copyOf(data, cap);
+    }
+}
@@ -0,0 +1,31 @@
+package com.traffic.core;
+
+// The original cycle: GREEN_MS of green (or a configured duration) and at most one car from each of L2 and L3
+public class FixedPhaseController implements PhaseController {
+
+    private final long greenMs;
+
+    public FixedPhaseController() {
+        this(SimulationEngine.GREEN_MS);
+    }
+
+    public FixedPhaseController(long greenMs) {
+        if (greenMs <= 0) throw new IllegalArgumentException("Invalid green duration: " + greenMs);
+        this.greenMs = greenMs;
+    }
+
+    @Override
+    public long greenMs(Lane lane) {
+        return greenMs;
+    }
+
+    @Override
+    public int releaseBudget(Lane lane, long greenMs) {
+        return 1;
+    }
+
+    @Override
+    public String toString() {
+        return greenMs == SimulationEngine.GREEN_MS ? "fixed" : "fixed:" + greenMs;
+    }
+}
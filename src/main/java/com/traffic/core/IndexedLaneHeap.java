@@ -0,0 +1,105 @@
+package com.traffic.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+// Binary min-heap of LaneEntry ordered by compareTo, where every entry stores its own slot
+// (LaneEntry.heapIndex). remove/update of a given entry is O(log n) instead of the linear
+// search java.util.PriorityQueue.remove(Object) needs. Sift rules match PriorityQueue,
+// so the same operations give the same order as the PriorityQueue the scheduler used before.
+public class IndexedLaneHeap {
+
+    private LaneEntry[] heap;
+    private int size;
+
+    public IndexedLaneHeap(Collection<LaneEntry> entries) {
+        heap = new LaneEntry[Math.max(4, entries.size())];
+        for (LaneEntry e : entries) add(e);
+    }
+
+    public void add(LaneEntry entry) {
+        if (entry.heapIndex >= 0) throw new IllegalArgumentException("Entry already queued: " + entry.getRoadId());
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        siftUp(size++, entry);
+    }
+
+    public LaneEntry peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    public LaneEntry poll() {
+        if (size == 0) return null;
+        LaneEntry result = heap[0];
+        removeAt(0);
+        return result;
+    }
+
+    // O(log n): the entry knows its slot
+    public boolean remove(LaneEntry entry) {
+        int i = entry.heapIndex;
+        if (i < 0 || i >= size || heap[i] != entry) return false;
+        removeAt(i);
+        return true;
+    }
+
+    // Restores the order after the entry's score or counts changed (decrease- or increase-key)
+    public void update(LaneEntry entry) {
+        int i = entry.heapIndex;
+        if (i < 0 || i >= size || heap[i] != entry) throw new IllegalArgumentException("Entry not queued: " + entry.getRoadId());
+        siftDown(i, entry);
+        if (heap[i] == entry) siftUp(i, entry);
+    }
+
+    public boolean contains(LaneEntry entry) {
+        int i = entry.heapIndex;
+        return i >= 0 && i < size && heap[i] == entry;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void removeAt(int i) {
+        LaneEntry removed = heap[i];
+        int last = --size;
+        if (last == i) {
+            heap[i] = null;
+        } else {
+            LaneEntry moved = heap[last];
+            heap[last] = null;
+            siftDown(i, moved);
+            if (heap[i] == moved) siftUp(i, moved);
+        }
+        removed.heapIndex = -1;
+    }
+
+    private void siftUp(int i, LaneEntry entry) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            LaneEntry p = heap[parent];
+            if (entry.compareTo(p) >= 0) break;
+            place(i, p);
+            i = parent;
+        }
+        place(i, entry);
+    }
+
+    private void siftDown(int i, LaneEntry entry) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            LaneEntry c = heap[child];
+            int right = child + 1;
+            if (right < size && c.compareTo(heap[right]) > 0) c = heap[child = right];
+            if (entry.compareTo(c) <= 0) break;
+            place(i, c);
+            i = child;
+        }
+        place(i, entry);
+    }
+
+    private void place(int i, LaneEntry entry) {
+        heap[i] = entry;
+        entry.heapIndex = i;
+    }
+}
@@ -0,0 +1,87 @@
+package com.traffic.core;
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Steps a RoadNetwork with one long-lived worker per junction (virtual threads where the JDK has
+// them, see Workers). Each worker blocks on a tiered Phaser until the tick starts, steps its junction
+// into its own outbox and arrives at the end barrier. The outboxes are then applied in junction order,
+// exactly like a serial step(), so the result is the same as ParallelTickExecutor and RoadNetwork.
+public class JunctionWorkerExecutor implements AutoCloseable {
+
+    // Workers per leaf phaser; keeps each barrier small and lifts the 65535-party limit of one Phaser
+    private static final int WORKERS_PER_PHASER = 64;
+
+    private final RoadNetwork network;
+    private final TransferBuffer[] outboxes;
+    private final Phaser ticks = new Phaser(1);     // the stepping thread is the one direct party
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean closed;
+
+    public JunctionWorkerExecutor(RoadNetwork network) {
+        this(network, Workers.factory("junction-"));
+    }
+
+    public JunctionWorkerExecutor(RoadNetwork network, ThreadFactory factory) {
+        this.network = network;
+        int count = network.getJunctionCount();
+        outboxes = new TransferBuffer[count];
+
+        // every party is registered before any worker can arrive, or a leaf could advance on its own
+        Phaser[] leaves = new Phaser[(count + WORKERS_PER_PHASER - 1) / WORKERS_PER_PHASER];
+        for (int i = 0; i < leaves.length; i++) {
+            leaves[i] = new Phaser(ticks, Math.min(WORKERS_PER_PHASER, count - i * WORKERS_PER_PHASER));
+        }
+        for (int j = 0; j < count; j++) {
+            outboxes[j] = new TransferBuffer(8);
+            factory.newThread(worker(j, leaves[j / WORKERS_PER_PHASER])).start();
+        }
+    }
+
+    private Runnable worker(int junction, Phaser phaser) {
+        return () -> {
+            while (true) {
+                phaser.arriveAndAwaitAdvance();     // tick start
+                if (closed) {
+                    phaser.arriveAndDeregister();
+                    return;
+                }
+                try {
+                    network.stepJunction(junction, outboxes[junction]);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+                phaser.arriveAndAwaitAdvance();     // tick end
+            }
+        };
+    }
+
+    public void step() {
+        if (closed) throw new IllegalStateException("Executor is closed");
+        ticks.arriveAndAwaitAdvance();      // release the workers
+        ticks.arriveAndAwaitAdvance();      // every junction has stepped
+
+        Throwable t = failure.get();
+        if (t != null) throw new IllegalStateException("Junction worker failed", t);
+
+        for (TransferBuffer outbox : outboxes) network.applyTransfers(outbox);
+        network.endTick();
+    }
+
+    public void runTicks(long count) {
+        for (long i = 0; i < count; i++) step();
+    }
+
+    public int getWorkerCount() {
+        return outboxes.length;
+    }
+
+    // Workers see the flag once released from the start barrier and leave
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        ticks.arriveAndDeregister();
+    }
+}
@@ -1,5 +1,7 @@
 package com.traffic.core;
 
+import java.util.function.Supplier;
+
 public class Lane {
 
     private final VehicleQueue lane1;
@@ -8,36 +10,60 @@ public class Lane {
     private final String roadId ;
 
     public Lane(String roadId) {
+        this(roadId, RingVehicleQueue::new);
+    }
+
+    // queueFactory picks the VehicleQueue implementation (ring buffer or linked list)
+    public Lane(String roadId, Supplier<VehicleQueue> queueFactory) {
         this.roadId = roadId;
-        this.lane1 = new VehicleQueue();
-        this.lane2 = new VehicleQueue();
-        this.lane3 = new VehicleQueue();
+        this.lane1 = queueFactory.get();
+        this.lane2 = queueFactory.get();
+        this.lane3 = queueFactory.get();
 
     }
 
+    // Lane numbers backed by SpscVehicleQueue: each lane number may have one enqueuing and one dequeuing
+    // thread at a time, and the sizes can be read from any thread (e.g. the scheduler while ingest runs)
+    public static Lane concurrent(String roadId) {
+        return new Lane(roadId, SpscVehicleQueue::new);
+    }
+
     public String getRoadId() { return roadId; }
 
 
-    public void enqueueToLane( int laneIndex,String vehicleId){
+    public void enqueueToLane( int laneIndex,long vehicleId){
+        enqueueToLane(laneIndex, vehicleId, 0L);
+    }
+
+    // enqueuedAt is read back with headEnqueuedAt() to measure the wait
+    public void enqueueToLane(int laneIndex, long vehicleId, long enqueuedAt){
+        queue(laneIndex).enqueue(vehicleId, enqueuedAt);
+    }
+
+    public long headEnqueuedAt(int laneIndex){
+        return queue(laneIndex).headEnqueuedAt();
+    }
+
+    private VehicleQueue queue(int laneIndex){
         switch(laneIndex){
-            case 1: lane1.enqueue(vehicleId); break;
-            case 2: lane2.enqueue(vehicleId); break;
-            case 3: lane3.enqueue(vehicleId); break;
+            case 1: return lane1;
+            case 2: return lane2;
+            case 3: return lane3;
             default: throw new IllegalArgumentException("Invalid Lane Index: "+laneIndex);
         }
     }
 
     //Dequeue from Incoming Queue, Traffic Light: Green
-    public String dequeueFromIncoming(){
+    public long dequeueFromIncoming(){
         return lane1.dequeue();
     }
 
     //Dequeuing from Priority Queue
-    public String dequeueFromPriority(){
+    public long dequeueFromPriority(){
         return lane2.dequeue();
     }
 
-    public String dequeueFromLeftTurn(){
+    public long dequeueFromLeftTurn(){
         return lane3.dequeue();
     }
 
@@ -7,6 +7,9 @@ public class LaneEntry implements Comparable<LaneEntry> {
     private int vehicleCount ;
     private int priorityLaneCount ;
 
+    // Slot in IndexedLaneHeap, -1 when not queued
+    int heapIndex = -1;
+
 
     public LaneEntry(String roadId, int initialCount) {
         this.roadId = roadId;
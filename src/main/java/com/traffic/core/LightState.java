@@ -0,0 +1,4 @@
+package com.traffic.core;
+
+// Light phases shared by the engine and the JavaFX TrafficLight
+public enum LightState { RED, YELLOW, GREEN }
@@ -0,0 +1,82 @@
+package com.traffic.core;
+
+import com.traffic.log.EventLog;
+import com.traffic.log.LogLevel;
+
+// Singly linked implementation, one CarNode per vehicle
+public class LinkedVehicleQueue implements VehicleQueue {
+    private CarNode front ;
+    private CarNode rear;
+    private int size;
+
+    public LinkedVehicleQueue() {
+        this.front = null ;
+        this.rear = null ;
+        this.size = 0;
+
+    }
+
+    public CarNode getFront(){
+        return front;
+    }
+    public CarNode getRear(){
+        return rear;
+    }
+    @Override
+    public int getSize(){
+        return size ;
+    }
+    public void setSize(int size){
+        this.size = size ;
+        return ;
+    }
+
+    @Override
+    public void enqueue(long vehicleId, long enqueuedAt){
+        CarNode newNode = new CarNode(vehicleId, enqueuedAt) ;
+
+        if(rear == null){
+            this.front = newNode ;
+            this.rear = newNode ;
+
+        }else{
+            rear.setNext(newNode) ;
+            rear = newNode ;
+        }
+            this.size++ ;
+        EventLog.vehicle(LogLevel.TRACE, "vehicle.enqueued", null, vehicleId, "size", this.size);
+    }
+
+
+
+    @Override
+    public long dequeue(){
+
+        if(isEmpty()){
+            EventLog.log(LogLevel.TRACE, "queue.empty");
+            return VehicleId.NONE;
+        }
+
+        long removedID =  this.front.getVehicleId() ;
+        this.front = this.front.getNext() ;
+        this.size-- ;
+
+        if(this.front == null){
+            this.rear = null ;
+        }
+
+        EventLog.vehicle(LogLevel.TRACE, "vehicle.dequeued", null, removedID, "size", this.size);
+        return removedID;
+
+    }
+
+    @Override
+    public long headEnqueuedAt(){
+        return this.front == null ? -1L : this.front.getEnqueuedAt() ;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return this.front == null ;
+    }
+}
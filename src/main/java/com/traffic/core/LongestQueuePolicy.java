@@ -0,0 +1,15 @@
+package com.traffic.core;
+
+// Longest-queue-first: the road with the most vehicles in L2 + L3
+public class LongestQueuePolicy extends RotatingScorePolicy {
+
+    @Override
+    long score(Lane[] lanes, int road, long now) {
+        return waiting(lanes[road]);
+    }
+
+    @Override
+    public String toString() {
+        return "longest-queue";
+    }
+}
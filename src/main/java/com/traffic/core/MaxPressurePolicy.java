@@ -0,0 +1,34 @@
+package com.traffic.core;
+
+// Max-pressure: for each source lane, its queue minus the average queue on the approaches it feeds
+// at the neighbouring junctions (L2 + L3 of the road the car arrives on, see DownstreamDepth); the
+// road with the largest total wins. A lone junction has no neighbours, so downstream is 0 and this
+// is longest-queue-first; in a RoadNetwork a road whose cars would pile onto a full approach waits.
+public class MaxPressurePolicy extends RotatingScorePolicy {
+
+    private DownstreamDepth downstream = DownstreamDepth.NONE;
+
+    @Override
+    public void setDownstream(DownstreamDepth downstream) {
+        this.downstream = (downstream == null) ? DownstreamDepth.NONE : downstream;
+    }
+
+    @Override
+    long score(Lane[] lanes, int road, long now) {
+        // doubled so the average over one or two destinations stays an integer
+        return lanePressure(road, 2, lanes[road].prioritySize())
+                + lanePressure(road, 3, lanes[road].leftTurnSize());
+    }
+
+    private long lanePressure(int road, int lane, int upstream) {
+        int[] dests = Routes.destinations(road, lane);
+        long queued = 0;
+        for (int d : dests) queued += downstream.depth(d);
+        return 2L * upstream - queued * 2 / dests.length;
+    }
+
+    @Override
+    public String toString() {
+        return "max-pressure";
+    }
+}
@@ -0,0 +1,19 @@
+package com.traffic.core;
+
+// Serves the road whose oldest head vehicle (L2 or L3) has waited longest
+public class OldestWaitingPolicy extends RotatingScorePolicy {
+
+    @Override
+    long score(Lane[] lanes, int road, long now) {
+        Lane lane = lanes[road];
+        long oldest = Long.MAX_VALUE;
+        if (lane.prioritySize() > 0) oldest = Math.min(oldest, lane.headEnqueuedAt(2));
+        if (lane.leftTurnSize() > 0) oldest = Math.min(oldest, lane.headEnqueuedAt(3));
+        return oldest == Long.MAX_VALUE ? Long.MIN_VALUE : now - oldest;
+    }
+
+    @Override
+    public String toString() {
+        return "oldest-waiting";
+    }
+}
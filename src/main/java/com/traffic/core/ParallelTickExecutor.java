@@ -0,0 +1,78 @@
+package com.traffic.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Steps the junctions of a RoadNetwork concurrently on a ForkJoinPool. Junctions are cut into
+// fixed-size chunks, each chunk with its own outbox for hand-offs; after the tick barrier the outboxes
+// are applied in chunk order. That is the same order a serial step() produces, so the result is
+// identical whatever the thread count.
+public class ParallelTickExecutor implements AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 32;
+
+    private final RoadNetwork network;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final TransferBuffer[] outboxes;
+
+    public ParallelTickExecutor(RoadNetwork network, int parallelism) {
+        this(network, parallelism, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelTickExecutor(RoadNetwork network, int parallelism, int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        this.network = network;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.chunkSize = chunkSize;
+
+        int chunks = (network.getJunctionCount() + chunkSize - 1) / chunkSize;
+        outboxes = new TransferBuffer[chunks];
+        for (int i = 0; i < chunks; i++) outboxes[i] = new TransferBuffer(256);
+    }
+
+    public void step() {
+        pool.invoke(new StepChunks(0, outboxes.length));
+        // tick barrier: every junction has stepped, hand-offs are delivered serially
+        for (TransferBuffer outbox : outboxes) network.applyTransfers(outbox);
+        network.endTick();
+    }
+
+    public void runTicks(long count) {
+        for (long i = 0; i < count; i++) step();
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // Splits the chunk range in halves until a single chunk is left
+    private final class StepChunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        StepChunks(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                TransferBuffer outbox = outboxes[from];
+                int end = Math.min(network.getJunctionCount(), (from + 1) * chunkSize);
+                for (int j = from * chunkSize; j < end; j++) network.stepJunction(j, outbox);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new StepChunks(from, mid), new StepChunks(mid, to));
+        }
+    }
+}
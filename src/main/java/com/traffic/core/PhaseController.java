@@ -0,0 +1,35 @@
+package com.traffic.core;
+
+// Decides how long the selected road stays green and how many cars each of its source lanes
+// (L2, L3) may release in that time. Selected with -Dtraffic.phase=fixed[:GREEN]|adaptive[:MIN:MAX:HEADWAY].
+public interface PhaseController {
+
+    String PROPERTY = "traffic.phase";
+
+    long greenMs(Lane lane);
+
+    int releaseBudget(Lane lane, long greenMs);
+
+    static PhaseController fromProperty() {
+        return parse(System.getProperty(PROPERTY, "fixed"));
+    }
+
+    // "fixed" | "fixed:GREEN_MS" | "adaptive" | "adaptive:MIN_GREEN_MS:MAX_GREEN_MS:HEADWAY_MS"
+    static PhaseController parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        switch (parts[0]) {
+            case "fixed":
+                if (parts.length == 1) return new FixedPhaseController();
+                if (parts.length != 2) break;
+                return new FixedPhaseController(Long.parseLong(parts[1]));
+            case "adaptive":
+                if (parts.length == 1) return new AdaptivePhaseController();
+                if (parts.length != 4) break;
+                return new AdaptivePhaseController(Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                        Long.parseLong(parts[3]));
+            default:
+                break;
+        }
+        throw new IllegalArgumentException("Invalid phase controller: " + spec);
+    }
+}
@@ -0,0 +1,90 @@
+package com.traffic.core;
+
+import com.traffic.log.EventLog;
+import com.traffic.log.LogLevel;
+
+// Growable circular array of packed ids (and their enqueue times in a parallel array):
+// no allocation per enqueue once the buffer has reached its working size
+public class RingVehicleQueue implements VehicleQueue {
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private long[] buffer;
+    private long[] times;
+    private int mask;
+    private int head;   // next slot to dequeue
+    private int size;
+
+    public RingVehicleQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RingVehicleQueue(int initialCapacity) {
+        if (initialCapacity < 1) throw new IllegalArgumentException("Invalid capacity: " + initialCapacity);
+        // power of two so wrapping is a mask instead of a modulo
+        int cap = Integer.highestOneBit(Math.max(2, initialCapacity) - 1) << 1;
+        this.buffer = new long[cap];
+        this.times = new long[cap];
+        this.mask = cap - 1;
+    }
+
+    @Override
+    public void enqueue(long vehicleId, long enqueuedAt) {
+        if (size == buffer.length) grow();
+        int slot = (head + size) & mask;
+        buffer[slot] = vehicleId;
+        times[slot] = enqueuedAt;
+        size++;
+        EventLog.vehicle(LogLevel.TRACE, "vehicle.enqueued", null, vehicleId, "size", this.size);
+    }
+
+    @Override
+    public long dequeue() {
+        if (isEmpty()) {
+            EventLog.log(LogLevel.TRACE, "queue.empty");
+            return VehicleId.NONE;
+        }
+
+        long removedID = buffer[head];
+        head = (head + 1) & mask;
+        size--;
+
+        EventLog.vehicle(LogLevel.TRACE, "vehicle.dequeued", null, removedID, "size", this.size);
+        return removedID;
+    }
+
+    @Override
+    public long headEnqueuedAt() {
+        return size == 0 ? -1L : times[head];
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    // Doubles the buffer and unwraps the contents to start at index 0
+    private void grow() {
+        buffer = unwrap(buffer);
+        times = unwrap(times);
+        mask = buffer.length - 1;
+        head = 0;
+    }
+
+    private long[] unwrap(long[] array) {
+        long[] bigger = new long[array.length << 1];
+        int firstPart = array.length - head;
+        System.arraycopy(array, head, bigger, 0, firstPart);
+        System.arraycopy(array, 0, bigger, firstPart, head);
+        return bigger;
+    }
+}
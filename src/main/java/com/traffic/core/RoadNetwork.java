@@ -0,0 +1,195 @@
+package com.traffic.core;
+
+import java.util.SplittableRandom;
+
+// Grid of junctions (rows x cols), each a SimulationEngine with its own lanes, entries and scheduler.
+// A released vehicle waits in the accept lane (L1) of its destination road; on the next tick it is
+// handed to the neighbour on that side, arriving on the facing road in the source lane of its next turn.
+// Roads on the edge of the grid have no neighbour: vehicles leaving through them exit the network,
+// and they receive new traffic with probability inflowProb per tick. Every junction gets its own
+// -Dtraffic.scheduler policy; downstream queue depths are read from a snapshot taken between ticks,
+// so a junction never sees a neighbour half way through its step.
+public class RoadNetwork {
+
+    public static final long TICK_MS = SimulationEngine.GREEN_MS + SimulationEngine.YELLOW_MS;
+
+    private final int rows;
+    private final int cols;
+    private final double inflowProb;
+
+    private final SimulationEngine[] junctions;
+    private final SplittableRandom[] rngs;   // one per junction, so a junction's choices never depend on others
+    private final int[] neighbours;          // [junction * 4 + road] -> neighbouring junction, -1 on the edge
+    private final int[] approachDepth;       // [junction * 4 + road] -> L2 + L3 at the start of the tick
+
+    // per-junction counters, only written by the step of that junction
+    private final long[] entered;
+    private final long[] exited;
+    private final long[] generated;
+
+    private final TransferBuffer transfers = new TransferBuffer(1024);
+    private long ticks;
+    private long transferred;
+
+    public RoadNetwork(int rows, int cols, double inflowProb, long seed) {
+        if (rows < 1 || cols < 1) throw new IllegalArgumentException("Invalid grid: " + rows + "x" + cols);
+        this.rows = rows;
+        this.cols = cols;
+        this.inflowProb = inflowProb;
+
+        int n = rows * cols;
+        junctions = new SimulationEngine[n];
+        rngs = new SplittableRandom[n];
+        neighbours = new int[n * Roads.COUNT];
+        approachDepth = new int[n * Roads.COUNT];
+        entered = new long[n];
+        exited = new long[n];
+        generated = new long[n];
+
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int j = 0; j < n; j++) {
+            SimulationEngine engine = new SimulationEngine();
+            engine.setListener(new SimulationListener() {
+                @Override
+                public void onVehicleReleased(String roadId, int laneNumber, long vehicleId, long time) {
+                    // crossing done: wait in the accept lane until the hand-off to the next junction
+                    engine.getLane(VehicleId.dstRoad(vehicleId)).enqueueToLane(1, vehicleId);
+                }
+            });
+            int junction = j;
+            SchedulingPolicy policy = SchedulingPolicy.fromProperty();
+            policy.setDownstream(exitRoad -> downstreamDepth(junction, exitRoad));
+            engine.setSchedulingPolicy(policy);
+            junctions[j] = engine;
+            rngs[j] = root.split();
+
+            int row = j / cols, col = j % cols;
+            neighbours[j * Roads.COUNT] = row > 0 ? j - cols : -1;             // A, north
+            neighbours[j * Roads.COUNT + 1] = row < rows - 1 ? j + cols : -1;  // B, south
+            neighbours[j * Roads.COUNT + 2] = col < cols - 1 ? j + 1 : -1;     // C, east
+            neighbours[j * Roads.COUNT + 3] = col > 0 ? j - 1 : -1;            // D, west
+        }
+    }
+
+    // One light cycle on every junction, then deliver the vehicles handed between them
+    public void step() {
+        for (int j = 0; j < junctions.length; j++) {
+            stepJunction(j, transfers);
+        }
+        applyTransfers(transfers);
+        endTick();
+    }
+
+    public void runTicks(long count) {
+        for (long i = 0; i < count; i++) step();
+    }
+
+    // Touches only junction j's own state; hand-offs go to the outbox
+    void stepJunction(int j, TransferBuffer outbox) {
+        SimulationEngine engine = junctions[j];
+        SplittableRandom rng = rngs[j];
+
+        for (int road = 0; road < Roads.COUNT; road++) {
+            Lane lane = engine.getLane(road);
+            int next = neighbours[j * Roads.COUNT + road];
+
+            while (lane.incomingSize() > 0) {
+                long id = lane.dequeueFromIncoming();
+                if (next < 0) {
+                    exited[j]++;
+                } else {
+                    outbox.add(next, nextTurn(id, Routes.opposite(road), rng));
+                }
+            }
+
+            if (next < 0 && rng.nextDouble() < inflowProb) {
+                int[] reachable = Routes.reachable(road);
+                int dst = reachable[rng.nextInt(reachable.length)];
+                int srcLane = Routes.sourceLane(road, dst);
+                long seq = generated[j]++ * junctions.length + j; // unique across the grid
+                engine.enqueue(Roads.idOf(road), srcLane, VehicleId.of(road, srcLane, dst, 1, seq));
+                entered[j]++;
+            }
+        }
+
+        engine.runCycle();
+    }
+
+    // Arriving on road `road`: pick the next turn and the source lane that makes it
+    private static long nextTurn(long vehicleId, int road, SplittableRandom rng) {
+        int[] reachable = Routes.reachable(road);
+        int dst = reachable[rng.nextInt(reachable.length)];
+        return VehicleId.reroute(vehicleId, road, Routes.sourceLane(road, dst), dst, 1);
+    }
+
+    void applyTransfers(TransferBuffer outbox) {
+        for (int i = 0; i < outbox.size(); i++) {
+            long id = outbox.vehicleId(i);
+            junctions[outbox.target(i)].enqueue(Roads.idOf(VehicleId.srcRoad(id)), VehicleId.srcLane(id), id);
+        }
+        transferred += outbox.size();
+        outbox.clear();
+    }
+
+    void endTick() {
+        ticks++;
+        snapshotDepths();
+    }
+
+    // Runs between ticks only, so parallel steps read it without racing the junctions they look at
+    private void snapshotDepths() {
+        for (int j = 0; j < junctions.length; j++) {
+            for (int road = 0; road < Roads.COUNT; road++) {
+                Lane lane = junctions[j].getLane(road);
+                approachDepth[j * Roads.COUNT + road] = lane.prioritySize() + lane.leftTurnSize();
+            }
+        }
+    }
+
+    // Cars leaving junction j through exitRoad arrive on the facing road of the neighbour; 0 on the edge
+    private int downstreamDepth(int j, int exitRoad) {
+        int next = neighbours[j * Roads.COUNT + exitRoad];
+        return next < 0 ? 0 : approachDepth[next * Roads.COUNT + Routes.opposite(exitRoad)];
+    }
+
+    public int neighbour(int junction, int road) {
+        return neighbours[junction * Roads.COUNT + road];
+    }
+
+    public SimulationEngine getJunction(int row, int col) {
+        return junctions[row * cols + col];
+    }
+
+    public SimulationEngine getJunction(int index) {
+        return junctions[index];
+    }
+
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int getJunctionCount() { return junctions.length; }
+    public long getTicks() { return ticks; }
+    public long getClock() { return ticks * TICK_MS; }
+    public long getTransferred() { return transferred; }
+
+    public long getEntered() { return sum(entered); }
+    public long getExited() { return sum(exited); }
+
+    public long getReleased() {
+        long total = 0;
+        for (SimulationEngine engine : junctions) total += engine.getReleased();
+        return total;
+    }
+
+    // Vehicles still inside the grid, queued or waiting for a hand-off
+    public long getWaiting() {
+        long total = 0;
+        for (SimulationEngine engine : junctions) total += engine.getWaiting();
+        return total;
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long v : values) total += v;
+        return total;
+    }
+}
@@ -0,0 +1,25 @@
+package com.traffic.core;
+
+// Road ids of the junction and their array index (A=0, B=1, C=2, D=3)
+public final class Roads {
+
+    public static final String[] IDS = {"A", "B", "C", "D"};
+    public static final int COUNT = IDS.length;
+
+    private Roads() {
+    }
+
+    public static int indexOf(String roadId) {
+        switch (roadId) {
+            case "A": return 0;
+            case "B": return 1;
+            case "C": return 2;
+            case "D": return 3;
+            default: throw new IllegalArgumentException("Invalid road: " + roadId);
+        }
+    }
+
+    public static String idOf(int index) {
+        return IDS[index];
+    }
+}
@@ -0,0 +1,30 @@
+package com.traffic.core;
+
+// Serves the road with the highest score; ties go to the first road after the one served last,
+// so equal roads take turns instead of the lowest index winning every time
+abstract class RotatingScorePolicy implements SchedulingPolicy {
+
+    private int last = Roads.COUNT - 1;
+
+    abstract long score(Lane[] lanes, int road, long now);
+
+    @Override
+    public String select(Lane[] lanes, long now) {
+        int best = -1;
+        long bestScore = Long.MIN_VALUE;
+        for (int k = 1; k <= Roads.COUNT; k++) {
+            int road = (last + k) % Roads.COUNT;
+            long s = score(lanes, road, now);
+            if (best < 0 || s > bestScore) {
+                best = road;
+                bestScore = s;
+            }
+        }
+        last = best;
+        return Roads.idOf(best);
+    }
+
+    static int waiting(Lane lane) {
+        return lane.prioritySize() + lane.leftTurnSize();
+    }
+}
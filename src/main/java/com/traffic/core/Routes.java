@@ -0,0 +1,60 @@
+package com.traffic.core;
+
+// Turns allowed at a junction: which accept roads each source lane (2 or 3) may drive into.
+// Shared by the traffic generators and the road network so every vehicle follows the same rules.
+// Geometry used by the network: A is north, B south, C east, D west.
+public final class Routes {
+
+    public static final int FIRST_SOURCE_LANE = 2;
+    public static final int LAST_SOURCE_LANE = 3;
+
+    // [road][lane - 2] -> destination road indices
+    private static final int[][][] DESTINATIONS = {
+            {{1, 3}, {2}},   // A2 -> B, D    A3 -> C
+            {{0}, {3}},      // B2 -> A       B3 -> D
+            {{3, 0}, {1}},   // C2 -> D, A    C3 -> B
+            {{2, 1}, {0}}    // D2 -> C, B    D3 -> A
+    };
+
+    // [road] -> every destination reachable from that road, over both source lanes
+    private static final int[][] REACHABLE = new int[Roads.COUNT][];
+
+    // [srcRoad][dstRoad] -> source lane that makes the turn, 0 when not allowed
+    private static final int[][] LANE_FOR = new int[Roads.COUNT][Roads.COUNT];
+
+    static {
+        for (int road = 0; road < Roads.COUNT; road++) {
+            int[] lane2 = DESTINATIONS[road][0];
+            int[] lane3 = DESTINATIONS[road][1];
+            REACHABLE[road] = new int[lane2.length + lane3.length];
+            System.arraycopy(lane2, 0, REACHABLE[road], 0, lane2.length);
+            System.arraycopy(lane3, 0, REACHABLE[road], lane2.length, lane3.length);
+            for (int dst : lane2) LANE_FOR[road][dst] = 2;
+            for (int dst : lane3) LANE_FOR[road][dst] = 3;
+        }
+    }
+
+    private Routes() {
+    }
+
+    // Shared arrays, callers must not modify them
+    public static int[] destinations(int road, int lane) {
+        if (lane < FIRST_SOURCE_LANE || lane > LAST_SOURCE_LANE) {
+            throw new IllegalArgumentException("Not a source lane: " + lane);
+        }
+        return DESTINATIONS[road][lane - FIRST_SOURCE_LANE];
+    }
+
+    public static int[] reachable(int road) {
+        return REACHABLE[road];
+    }
+
+    public static int sourceLane(int srcRoad, int dstRoad) {
+        return LANE_FOR[srcRoad][dstRoad];
+    }
+
+    // The road on the far side of the junction: A <-> B, C <-> D
+    public static int opposite(int road) {
+        return road ^ 1;
+    }
+}
@@ -0,0 +1,56 @@
+package com.traffic.core;
+
+// Decides which road of a junction gets the next green. Selected with -Dtraffic.scheduler=SPEC:
+//   priority[:ROAD:ENTER:EXIT]   the TrafficScheduler score bands with road-A priority mode (default)
+//   longest-queue                most vehicles waiting in L2 + L3
+//   max-pressure                 waiting vehicles minus what is queued at the next junction
+//   round-robin[:WA:WB:WC:WD]    fixed rotation, WA consecutive greens for A and so on (default 2:1:1:1)
+//   oldest-waiting               the road whose head vehicle has waited longest
+// Each engine needs its own instance, policies keep state between cycles.
+public interface SchedulingPolicy {
+
+    String PROPERTY = "traffic.scheduler";
+
+    // lanes are indexed like Roads.IDS, now is the engine clock (ms)
+    String select(Lane[] lanes, long now);
+
+    default boolean isPriorityModeActive() {
+        return false;
+    }
+
+    // Queue depths past this junction; set by RoadNetwork, ignored by policies that only look at their own lanes
+    default void setDownstream(DownstreamDepth downstream) {
+    }
+
+    static SchedulingPolicy fromProperty() {
+        return parse(System.getProperty(PROPERTY, "priority"));
+    }
+
+    static SchedulingPolicy parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        switch (parts[0]) {
+            case "priority":
+                if (parts.length == 1) return new ThresholdPriorityPolicy();
+                if (parts.length != 4) break;
+                return new ThresholdPriorityPolicy(parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+            case "longest-queue":
+                if (parts.length != 1) break;
+                return new LongestQueuePolicy();
+            case "max-pressure":
+                if (parts.length != 1) break;
+                return new MaxPressurePolicy();
+            case "round-robin":
+                if (parts.length == 1) return new WeightedRoundRobinPolicy(WeightedRoundRobinPolicy.DEFAULT_WEIGHTS);
+                if (parts.length != 1 + Roads.COUNT) break;
+                int[] weights = new int[Roads.COUNT];
+                for (int i = 0; i < Roads.COUNT; i++) weights[i] = Integer.parseInt(parts[i + 1]);
+                return new WeightedRoundRobinPolicy(weights);
+            case "oldest-waiting":
+                if (parts.length != 1) break;
+                return new OldestWaitingPolicy();
+            default:
+                break;
+        }
+        throw new IllegalArgumentException("Invalid scheduling policy: " + spec);
+    }
+}
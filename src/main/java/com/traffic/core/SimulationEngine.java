@@ -0,0 +1,180 @@
+package com.traffic.core;
+
+import com.traffic.metrics.LatencyHistogram;
+
+import java.util.function.Supplier;
+
+// Headless junction: the same scheduling, enqueue and release logic as the GUI cycle,
+// driven by a virtual clock (ms) instead of JavaFX transitions.
+public class SimulationEngine {
+
+    public static final long GREEN_MS = 4000;
+    public static final long YELLOW_MS = 1500;
+
+    private final Lane[] lanes = new Lane[Roads.COUNT];
+    private SchedulingPolicy policy = new ThresholdPriorityPolicy();
+
+    private final LightState[] phases = new LightState[Roads.COUNT];
+    private SimulationListener listener = SimulationListener.NONE;
+    private PhaseController phaseController = new FixedPhaseController();
+
+    // Time (clock ms) between enqueue and release, [road * 2 + lane - 2] for lanes 2 and 3
+    private final LatencyHistogram[] waits = new LatencyHistogram[Roads.COUNT * 2];
+
+    // volatile: with GUI release workers (-Dtraffic.gui.workers=true) the controller advances it while a
+    // road worker reads it to time its releases
+    private volatile long clock;
+    private long cycles;
+    private long arrived;
+    private long released;
+    private long greenTime;
+
+    public SimulationEngine() {
+        this(RingVehicleQueue::new);
+    }
+
+    // queueFactory picks the VehicleQueue behind every lane, SpscVehicleQueue::new for concurrent lanes
+    public SimulationEngine(Supplier<VehicleQueue> queueFactory) {
+        for (int i = 0; i < Roads.COUNT; i++) {
+            lanes[i] = new Lane(Roads.idOf(i), queueFactory);
+            phases[i] = LightState.RED;
+        }
+        for (int i = 0; i < waits.length; i++) waits[i] = new LatencyHistogram();
+    }
+
+    public void setListener(SimulationListener listener) {
+        this.listener = (listener == null) ? SimulationListener.NONE : listener;
+    }
+
+    public void setSchedulingPolicy(SchedulingPolicy policy) {
+        this.policy = (policy == null) ? new ThresholdPriorityPolicy() : policy;
+    }
+
+    public SchedulingPolicy getSchedulingPolicy() {
+        return policy;
+    }
+
+    public void setPhaseController(PhaseController controller) {
+        this.phaseController = (controller == null) ? new FixedPhaseController() : controller;
+    }
+
+    public PhaseController getPhaseController() {
+        return phaseController;
+    }
+
+    public void enqueue(String roadId, int laneNumber, long vehicleId) {
+        getLane(roadId).enqueueToLane(laneNumber, vehicleId, clock);
+        arrived++;
+        listener.onArrival(roadId, laneNumber, vehicleId, clock);
+    }
+
+    // The scheduling policy picks the road to serve from the live lane counts
+    public String selectRoad() {
+        String road = policy.select(lanes, clock);
+        cycles++;
+        listener.onCycleStart(road, clock);
+        return road;
+    }
+
+    // Release ONLY lanes 2 and 3, at most one car from each per green phase
+    public int release(String roadId) {
+        return release(roadId, 1);
+    }
+
+    // At most `budget` cars from each of lanes 2 and 3, alternating between them
+    public int release(String roadId, int budget) {
+        int road = Roads.indexOf(roadId);
+        Lane lane = lanes[road];
+        int count = 0;
+
+        for (int i = 0; i < budget; i++) {
+            boolean any = false;
+            if (lane.prioritySize() > 0) {
+                waits[road * 2].record(clock - lane.headEnqueuedAt(2));
+                long id = lane.dequeueFromPriority();
+                listener.onVehicleReleased(roadId, 2, id, clock);
+                count++;
+                any = true;
+            }
+
+            if (lane.leftTurnSize() > 0) {
+                waits[road * 2 + 1].record(clock - lane.headEnqueuedAt(3));
+                long id = lane.dequeueFromLeftTurn();
+                listener.onVehicleReleased(roadId, 3, id, clock);
+                count++;
+                any = true;
+            }
+            if (!any) break;
+        }
+
+        released += count;
+        return count;
+    }
+
+    // Turns the selected road green for as long as the phase controller decides and releases
+    // within its budget; returns the green duration (ms)
+    public long startGreen(String roadId) {
+        Lane lane = getLane(roadId);
+        long green = phaseController.greenMs(lane);
+        int budget = phaseController.releaseBudget(lane, green);
+
+        setPhase(roadId, LightState.GREEN);
+        release(roadId, budget);
+        greenTime += green;
+        return green;
+    }
+
+    public void setPhase(String roadId, LightState state) {
+        LightState target = (state == null) ? LightState.RED : state;
+        phases[Roads.indexOf(roadId)] = target;
+        listener.onPhaseChange(roadId, target, clock);
+    }
+
+    public LightState getPhase(String roadId) {
+        return phases[Roads.indexOf(roadId)];
+    }
+
+    // One full green + yellow cycle on the virtual clock
+    public String runCycle() {
+        String road = selectRoad();
+        clock += startGreen(road);
+        setPhase(road, LightState.YELLOW);
+        clock += YELLOW_MS;
+        setPhase(road, LightState.RED);
+        return road;
+    }
+
+    public void advanceTo(long time) {
+        if (time > clock) clock = time;
+    }
+
+    public Lane getLane(String roadId) {
+        return lanes[Roads.indexOf(roadId)];
+    }
+
+    public Lane getLane(int roadIndex) {
+        return lanes[roadIndex];
+    }
+
+    public LatencyHistogram getWaitHistogram(String roadId, int laneNumber) {
+        if (laneNumber != 2 && laneNumber != 3) throw new IllegalArgumentException("Not a source lane: " + laneNumber);
+        return waits[Roads.indexOf(roadId) * 2 + laneNumber - 2];
+    }
+
+    public long getClock() { return clock; }
+    public long getCycles() { return cycles; }
+    public long getArrived() { return arrived; }
+    public long getReleased() { return released; }
+    public long getGreenTime() { return greenTime; }
+
+    // Vehicles released per hour of clock time
+    public double getThroughputPerHour() {
+        return clock == 0 ? 0 : released * 3_600_000.0 / clock;
+    }
+
+    public int getWaiting() {
+        int total = 0;
+        for (Lane lane : lanes) total += lane.totalSIze();
+        return total;
+    }
+}
@@ -0,0 +1,48 @@
+package com.traffic.core;
+
+// Callbacks fired by SimulationEngine, front ends override only what they need
+public interface SimulationListener {
+
+    SimulationListener NONE = new SimulationListener() { };
+
+    // Forwards every callback to first, then to second
+    static SimulationListener both(SimulationListener first, SimulationListener second) {
+        return new SimulationListener() {
+            @Override
+            public void onArrival(String roadId, int laneNumber, long vehicleId, long time) {
+                first.onArrival(roadId, laneNumber, vehicleId, time);
+                second.onArrival(roadId, laneNumber, vehicleId, time);
+            }
+
+            @Override
+            public void onCycleStart(String roadId, long time) {
+                first.onCycleStart(roadId, time);
+                second.onCycleStart(roadId, time);
+            }
+
+            @Override
+            public void onPhaseChange(String roadId, LightState state, long time) {
+                first.onPhaseChange(roadId, state, time);
+                second.onPhaseChange(roadId, state, time);
+            }
+
+            @Override
+            public void onVehicleReleased(String roadId, int laneNumber, long vehicleId, long time) {
+                first.onVehicleReleased(roadId, laneNumber, vehicleId, time);
+                second.onVehicleReleased(roadId, laneNumber, vehicleId, time);
+            }
+        };
+    }
+
+    default void onArrival(String roadId, int laneNumber, long vehicleId, long time) {
+    }
+
+    default void onCycleStart(String roadId, long time) {
+    }
+
+    default void onPhaseChange(String roadId, LightState state, long time) {
+    }
+
+    default void onVehicleReleased(String roadId, int laneNumber, long vehicleId, long time) {
+    }
+}
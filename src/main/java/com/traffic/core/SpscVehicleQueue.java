@@ -0,0 +1,90 @@
+package com.traffic.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Unbounded single-producer/single-consumer FIFO: one thread may enqueue while another dequeues,
+// and getSize() is safe from any thread. Ids and times live in linked fixed-size chunks; the producer
+// fills a slot and then publishes it with a release store of its counter, the consumer sees the slot
+// (and any newly linked chunk) once it has acquired that counter. No locks, one chunk allocated per
+// CHUNK_SIZE enqueues.
+public class SpscVehicleQueue implements VehicleQueue {
+
+    public static final int CHUNK_SIZE = 256;
+
+    private static final class Chunk {
+        final long[] ids = new long[CHUNK_SIZE];
+        final long[] times = new long[CHUNK_SIZE];
+        Chunk next;     // written before the counter that publishes its first slot
+    }
+
+    // producer side
+    private Chunk tailChunk;
+    private int tailIndex;
+    private final AtomicLong produced = new AtomicLong();
+
+    // consumer side
+    private Chunk headChunk;
+    private int headIndex;
+    private final AtomicLong consumed = new AtomicLong();
+
+    public SpscVehicleQueue() {
+        tailChunk = headChunk = new Chunk();
+    }
+
+    // Producer thread only
+    @Override
+    public void enqueue(long vehicleId, long enqueuedAt) {
+        if (tailIndex == CHUNK_SIZE) {
+            Chunk next = new Chunk();
+            tailChunk.next = next;
+            tailChunk = next;
+            tailIndex = 0;
+        }
+        tailChunk.ids[tailIndex] = vehicleId;
+        tailChunk.times[tailIndex] = enqueuedAt;
+        tailIndex++;
+        produced.setRelease(produced.getPlain() + 1);
+    }
+
+    // Consumer thread only
+    @Override
+    public long dequeue() {
+        long taken = consumed.getPlain();
+        if (taken == produced.getAcquire()) return VehicleId.NONE;
+
+        if (headIndex == CHUNK_SIZE) {
+            headChunk = headChunk.next;
+            headIndex = 0;
+        }
+        long id = headChunk.ids[headIndex++];
+        consumed.setRelease(taken + 1);
+        return id;
+    }
+
+    // Consumer thread only
+    @Override
+    public long headEnqueuedAt() {
+        if (consumed.getPlain() == produced.getAcquire()) return -1L;
+        return headIndex == CHUNK_SIZE ? headChunk.next.times[0] : headChunk.times[headIndex];
+    }
+
+    // Any thread. consumed is read first, so the result is never negative
+    @Override
+    public int getSize() {
+        long taken = consumed.getAcquire();
+        return (int) (produced.getAcquire() - taken);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    public long getProduced() {
+        return produced.get();
+    }
+
+    public long getConsumed() {
+        return consumed.get();
+    }
+}
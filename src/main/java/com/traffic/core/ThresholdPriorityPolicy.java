@@ -0,0 +1,44 @@
+package com.traffic.core;
+
+import java.util.Arrays;
+
+// The original behaviour: every road's counts go through TrafficScheduler.CheckandUpdatePriority
+// (L3 as vehicleCount, L2 as priorityLaneCount), then the best-scored road is served and rotated
+public class ThresholdPriorityPolicy implements SchedulingPolicy {
+
+    private final LaneEntry[] entries = new LaneEntry[Roads.COUNT];
+    private final TrafficScheduler scheduler;
+
+    public ThresholdPriorityPolicy() {
+        this(TrafficScheduler.DEFAULT_PRIORITY_ROAD, TrafficScheduler.DEFAULT_ENTER_PRIORITY_AT,
+                TrafficScheduler.DEFAULT_EXIT_PRIORITY_AT);
+    }
+
+    public ThresholdPriorityPolicy(String priorityRoad, int enterPriorityAt, int exitPriorityAt) {
+        Roads.indexOf(priorityRoad); // validate
+        for (int i = 0; i < Roads.COUNT; i++) entries[i] = new LaneEntry(Roads.idOf(i), 0);
+        scheduler = new TrafficScheduler(Arrays.asList(entries), priorityRoad, enterPriorityAt, exitPriorityAt);
+    }
+
+    @Override
+    public String select(Lane[] lanes, long now) {
+        for (int i = 0; i < Roads.COUNT; i++) {
+            scheduler.CheckandUpdatePriority(entries[i], lanes[i].leftTurnSize(), lanes[i].prioritySize());
+        }
+        return scheduler.serverAndRotateLane();
+    }
+
+    @Override
+    public boolean isPriorityModeActive() {
+        return scheduler.isPriorityModeActive();
+    }
+
+    public TrafficScheduler getScheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public String toString() {
+        return "priority";
+    }
+}
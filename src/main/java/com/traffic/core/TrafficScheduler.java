@@ -1,23 +1,40 @@
 
 package com.traffic.core;
 
+import com.traffic.log.EventLog;
+import com.traffic.log.LogLevel;
+
 import java.util.Collection;
-import java.util.PriorityQueue;
 
 public class TrafficScheduler {
 
-    private final PriorityQueue<LaneEntry> laneQueue;
+    // Indexed heap: removing/re-adding an entry is O(log n), no linear search
+    private final IndexedLaneHeap laneQueue;
     private boolean priorityModeActive = false;
 
-    // Priority applies ONLY to Road A (AL2)
-    private static final String PRIORITY_ROAD = "A";
-    private static final int ENTER_PRIORITY_AT = 10;
+    // Priority applies ONLY to Road A (AL2) by default
+    public static final String DEFAULT_PRIORITY_ROAD = "A";
+    public static final int DEFAULT_ENTER_PRIORITY_AT = 10;
 
     // Priority ends when AL2 <= 5
-    private static final int EXIT_PRIORITY_AT = 5;
+    public static final int DEFAULT_EXIT_PRIORITY_AT = 5;
+
+    private final String priorityRoad;
+    private final int enterPriorityAt;
+    private final int exitPriorityAt;
 
     public TrafficScheduler(Collection<LaneEntry> laneEntries) {
-        laneQueue = new PriorityQueue<>(laneEntries);
+        this(laneEntries, DEFAULT_PRIORITY_ROAD, DEFAULT_ENTER_PRIORITY_AT, DEFAULT_EXIT_PRIORITY_AT);
+    }
+
+    public TrafficScheduler(Collection<LaneEntry> laneEntries, String priorityRoad, int enterPriorityAt, int exitPriorityAt) {
+        if (exitPriorityAt >= enterPriorityAt) {
+            throw new IllegalArgumentException("Priority must exit below where it enters: " + enterPriorityAt + "/" + exitPriorityAt);
+        }
+        laneQueue = new IndexedLaneHeap(laneEntries);
+        this.priorityRoad = priorityRoad;
+        this.enterPriorityAt = enterPriorityAt;
+        this.exitPriorityAt = exitPriorityAt;
     }
 
     public void CheckandUpdatePriority(LaneEntry laneEntry, int incomingCount, int priorityLaneCount) {
@@ -29,18 +46,18 @@ public class TrafficScheduler {
         String roadId = laneEntry.getRoadId();
 
         // Priority for AL2 logic
-        if (PRIORITY_ROAD.equals(roadId)) {
+        if (priorityRoad.equals(roadId)) {
 
 
-            if (!priorityModeActive && priorityLaneCount >= ENTER_PRIORITY_AT) {
+            if (!priorityModeActive && priorityLaneCount >= enterPriorityAt) {
                 priorityModeActive = true;
-                System.out.println("ALERT: Priority ON for Road A (AL2 >= " + ENTER_PRIORITY_AT + "). AL2=" + priorityLaneCount);
+                EventLog.log(LogLevel.INFO, "priority.on", roadId, "al2", priorityLaneCount, "enterAt", enterPriorityAt);
             }
 
             // off when AL2 drops to 5
-            if (priorityModeActive && priorityLaneCount <= EXIT_PRIORITY_AT) {
+            if (priorityModeActive && priorityLaneCount <= exitPriorityAt) {
                 priorityModeActive = false;
-                System.out.println("✓ Priority OFF for Road A (AL2 <= " + EXIT_PRIORITY_AT + "). AL2=" + priorityLaneCount);
+                EventLog.log(LogLevel.INFO, "priority.off", roadId, "al2", priorityLaneCount, "exitAt", exitPriorityAt);
             }
 
 
@@ -73,11 +90,11 @@ public class TrafficScheduler {
 
     public String serverAndRotateLane() {
         // If A-priority mode is active, alwys  serve A
-        if (priorityModeActive) return PRIORITY_ROAD;
+        if (priorityModeActive) return priorityRoad;
 
         LaneEntry servedLane = laneQueue.poll();
         if (servedLane == null) {
-            System.err.println("ERROR: No lanes available in queue!");
+            EventLog.log(LogLevel.ERROR, "scheduler.empty");
             return "A";
         }
 
@@ -88,6 +105,10 @@ public class TrafficScheduler {
         return servedId;
     }
 
+    public String getPriorityRoad() {
+        return priorityRoad;
+    }
+
     public boolean isPriorityModeActive() {
         return priorityModeActive;
     }
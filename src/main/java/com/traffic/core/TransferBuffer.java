@@ -0,0 +1,40 @@
+package com.traffic.core;
+
+import java.util.Arrays;
+
+// Vehicles handed from one junction to another during a network tick, as parallel primitive
+// arrays (target junction, vehicle id). Applied in insertion order once every junction has stepped.
+final class TransferBuffer {
+
+    private int[] targets;
+    private long[] ids;
+    private int size;
+
+    TransferBuffer() {
+        this(64);
+    }
+
+    TransferBuffer(int initialCapacity) {
+        int cap = Math.max(2, initialCapacity);
+        targets = new int[cap];
+        ids = new long[cap];
+    }
+
+    void add(int target, long vehicleId) {
+        if (size == ids.length) {
+            targets = Arrays.copyOf(targets, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        targets[size] = target;
+        ids[size] = vehicleId;
+        size++;
+    }
+
+    int target(int i) { return targets[i]; }
+    long vehicleId(int i) { return ids[i]; }
+    int size() { return size; }
+
+    void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,88 @@
+package com.traffic.core;
+
+// Vehicle ids packed into one long instead of a String like "A2B1-10004":
+//
+//   bits 56-59 source road   (Roads index, A=0 .. D=3)
+//   bits 52-55 source lane
+//   bits 48-51 destination road
+//   bits 44-47 destination lane
+//   bits  0-43 sequence number
+//
+// Queues, scheduler and renderer carry the long; format() is only for display and logs.
+public final class VehicleId {
+
+    // Returned by dequeue on an empty queue and by parse on malformed input
+    public static final long NONE = -1L;
+
+    private static final int SEQ_BITS = 44;
+    private static final long SEQ_MASK = (1L << SEQ_BITS) - 1;
+
+    // Largest sequence number the packed id can hold
+    public static final long MAX_SEQ = SEQ_MASK;
+
+    private VehicleId() {
+    }
+
+    public static long of(int srcRoad, int srcLane, int dstRoad, int dstLane, long seq) {
+        return ((long) (srcRoad & 0xF) << 56)
+                | ((long) (srcLane & 0xF) << 52)
+                | ((long) (dstRoad & 0xF) << 48)
+                | ((long) (dstLane & 0xF) << SEQ_BITS)
+                | (seq & SEQ_MASK);
+    }
+
+    public static int srcRoad(long id) { return (int) (id >>> 56) & 0xF; }
+    public static int srcLane(long id) { return (int) (id >>> 52) & 0xF; }
+    public static int dstRoad(long id) { return (int) (id >>> 48) & 0xF; }
+    public static int dstLane(long id) { return (int) (id >>> SEQ_BITS) & 0xF; }
+    public static long seq(long id) { return id & SEQ_MASK; }
+
+    // Same id with a different source/destination, keeping the sequence number
+    public static long reroute(long id, int srcRoad, int srcLane, int dstRoad, int dstLane) {
+        return of(srcRoad, srcLane, dstRoad, dstLane, seq(id));
+    }
+
+    public static String format(long id) {
+        return appendTo(new StringBuilder(16), id).toString();
+    }
+
+    public static StringBuilder appendTo(StringBuilder sb, long id) {
+        if (id == NONE) return sb.append("NONE");
+        return sb.append((char) ('A' + srcRoad(id))).append(srcLane(id))
+                .append((char) ('A' + dstRoad(id))).append(dstLane(id))
+                .append('-').append(seq(id));
+    }
+
+    // Parses the text form written to the lane files ("A2B1-10004"), NONE if malformed
+    public static long parse(CharSequence s) {
+        return parse(s, 0, s.length());
+    }
+
+    public static long parse(CharSequence s, int start, int end) {
+        if (end - start < 6 || s.charAt(start + 4) != '-') return NONE;
+
+        int srcRoad = road(s.charAt(start));
+        int srcLane = digit(s.charAt(start + 1));
+        int dstRoad = road(s.charAt(start + 2));
+        int dstLane = digit(s.charAt(start + 3));
+        if ((srcRoad | srcLane | dstRoad | dstLane) < 0) return NONE;
+
+        long seq = 0;
+        for (int i = start + 5; i < end; i++) {
+            int d = digit(s.charAt(i));
+            if (d < 0 || seq > (SEQ_MASK - d) / 10) return NONE;
+            seq = seq * 10 + d;
+        }
+        return of(srcRoad, srcLane, dstRoad, dstLane, seq);
+    }
+
+    static int road(int c) {
+        int r = c - 'A';
+        return (r >= 0 && r < Roads.COUNT) ? r : -1;
+    }
+
+    static int digit(int c) {
+        int d = c - '0';
+        return (d >= 0 && d <= 9) ? d : -1;
+    }
+}
@@ -1,69 +1,21 @@
 package com.traffic.core;
 
-public class VehicleQueue {
-    private CarNode front ;
-    private CarNode rear;
-    private int size;
+// FIFO of vehicle ids waiting in one lane, each with the time it joined the queue
+public interface VehicleQueue {
 
-    public VehicleQueue() {
-        this.front = null ;
-        this.rear = null ;
-        this.size = 0;
-
-    }
-
-    public CarNode getFront(){
-        return front;
-    }
-    public CarNode getRear(){
-        return rear;
-    }
-    public int getSize(){
-        return size ;
-    }
-    public void setSize(int size){
-        this.size = size ;
-        return ;
-    }
-
-    public void enqueue(String vehicleId){
-        CarNode newNode = new CarNode(vehicleId) ;
-
-        if(rear == null){
-            this.front = newNode ;
-            this.rear = newNode ;
-
-        }else{
-            rear.setNext(newNode) ;
-            rear = newNode ;
-        }
-            this.size++ ;
-        System.out.println( "Vehicle : " + vehicleId + "enqueued : " + this.size);
+    default void enqueue(long vehicleId) {
+        enqueue(vehicleId, 0L);
     }
 
+    void enqueue(long vehicleId, long enqueuedAt);
 
+    // Returns VehicleId.NONE when the queue is empty
+    long dequeue();
 
-    public String dequeue(){
-
-        if(isEmpty()){
-            System.out.println("Vehicle Queue is Empty");
-            return null;
-        }
-
-        String removedID =  this.front.getVehicleId() ;
-        this.front = this.front.getNext() ;
-        this.size-- ;
+    // Enqueue time of the vehicle the next dequeue() returns, -1 when the queue is empty
+    long headEnqueuedAt();
 
-        if(this.front == null){
-            this.rear = null ;
-        }
+    int getSize();
 
-        System.out.println("vehicle : " + removedID + " dequeued : " + this.size);
-        return removedID;
-
-    }
-
-    public boolean isEmpty(){
-        return this.front == null ;
-    }
+    boolean isEmpty();
 }
@@ -0,0 +1,46 @@
+package com.traffic.core;
+
+import java.util.Arrays;
+
+// Fixed rotation A, B, C, D where road i keeps the green for weights[i] consecutive cycles.
+// Roads with nothing in L2/L3 are skipped unless every road is empty.
+public class WeightedRoundRobinPolicy implements SchedulingPolicy {
+
+    public static final int[] DEFAULT_WEIGHTS = {2, 1, 1, 1};
+
+    private final int[] weights;
+    private int current;
+    private int served;   // consecutive greens given to `current`
+
+    public WeightedRoundRobinPolicy(int[] weights) {
+        if (weights.length != Roads.COUNT) throw new IllegalArgumentException("Need " + Roads.COUNT + " weights");
+        for (int w : weights) {
+            if (w < 1) throw new IllegalArgumentException("Invalid weight: " + w);
+        }
+        this.weights = weights.clone();
+    }
+
+    @Override
+    public String select(Lane[] lanes, long now) {
+        if (served >= weights[current] || RotatingScorePolicy.waiting(lanes[current]) == 0) {
+            int next = current;
+            for (int k = 1; k <= Roads.COUNT; k++) {
+                int road = (current + k) % Roads.COUNT;
+                if (RotatingScorePolicy.waiting(lanes[road]) > 0) {
+                    next = road;
+                    break;
+                }
+                if (k == Roads.COUNT) next = (current + 1) % Roads.COUNT; // all empty: keep rotating
+            }
+            if (next != current) served = 0;
+            current = next;
+        }
+        served++;
+        return Roads.idOf(current);
+    }
+
+    @Override
+    public String toString() {
+        return "round-robin:" + Arrays.toString(weights).replaceAll("[\\[\\] ]", "").replace(',', ':');
+    }
+}
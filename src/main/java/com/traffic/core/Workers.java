@@ -0,0 +1,71 @@
+package com.traffic.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Thread factories for long-lived blocking workers (one per road, lane file or junction). On a JDK with
+// virtual threads (21+) the workers are virtual, so tens of thousands of them cost little more than their
+// stacks on the heap; on older JDKs, or with -Dtraffic.workers.virtual=false, they are daemon platform
+// threads with a small stack. Looked up reflectively because the build targets Java 17.
+public final class Workers {
+
+    public static final String VIRTUAL_PROPERTY = "traffic.workers.virtual";
+
+    // Platform fallback: the workers only step a junction or poll a reader, deep stacks are never needed
+    private static final long PLATFORM_STACK_BYTES = 256 * 1024;
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+
+    static {
+        Method ofVirtual = null, name = null, factory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+        } catch (ReflectiveOperationException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_FACTORY = factory;
+    }
+
+    private Workers() {
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    // Virtual unless unavailable or switched off
+    public static boolean useVirtualThreads() {
+        return virtualThreadsAvailable()
+                && Boolean.parseBoolean(System.getProperty(VIRTUAL_PROPERTY, "true"));
+    }
+
+    // Threads are named prefix0, prefix1, ...
+    public static ThreadFactory factory(String prefix) {
+        if (useVirtualThreads()) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+                return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                // fall through to platform threads
+            }
+        }
+        AtomicLong counter = new AtomicLong();
+        return task -> {
+            Thread thread = new Thread(null, task, prefix + counter.getAndIncrement(), PLATFORM_STACK_BYTES);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static String describe() {
+        return useVirtualThreads() ? "virtual" : "platform";
+    }
+}
@@ -0,0 +1,82 @@
+package com.traffic.generator;
+
+// Total arrival rate (vehicles per second, all source lanes together) over elapsed time
+public interface ArrivalProfile {
+
+    double rateAt(double elapsedMs);
+
+    // Upper bound of rateAt, used to thin the Poisson process
+    double peakRate();
+
+    static ArrivalProfile constant(double rate) {
+        return new ArrivalProfile() {
+            @Override public double rateAt(double elapsedMs) { return rate; }
+            @Override public double peakRate() { return rate; }
+            @Override public String toString() { return "constant:" + rate; }
+        };
+    }
+
+    // Smooth ramp from base to peak and back once per period (cosine shaped rush hour)
+    static ArrivalProfile rushHour(double base, double peak, long periodMs) {
+        return new ArrivalProfile() {
+            @Override public double rateAt(double elapsedMs) {
+                double phase = (elapsedMs % periodMs) / periodMs;
+                return base + (peak - base) * 0.5 * (1 - Math.cos(2 * Math.PI * phase));
+            }
+            @Override public double peakRate() { return Math.max(base, peak); }
+            @Override public String toString() { return "rush:" + base + ":" + peak + ":" + periodMs; }
+        };
+    }
+
+    // base rate with a burst of burstRate for burstMs at the start of every everyMs
+    static ArrivalProfile burst(double base, double burstRate, long everyMs, long burstMs) {
+        return new ArrivalProfile() {
+            @Override public double rateAt(double elapsedMs) {
+                return (elapsedMs % everyMs) < burstMs ? burstRate : base;
+            }
+            @Override public double peakRate() { return Math.max(base, burstRate); }
+            @Override public String toString() { return "burst:" + base + ":" + burstRate + ":" + everyMs + ":" + burstMs; }
+        };
+    }
+
+    // "constant:RATE", "rush:BASE:PEAK:PERIOD_MS", "burst:BASE:BURST:EVERY_MS:LENGTH_MS"
+    // Rates must be finite and >= 0, periods > 0 and a burst no longer than its period
+    static ArrivalProfile parse(String spec) {
+        String[] p = spec.trim().split(":");
+        try {
+            switch (p[0]) {
+                case "constant":
+                    return constant(rate(p[1], spec));
+                case "rush":
+                    return rushHour(rate(p[1], spec), rate(p[2], spec), period(p[3], spec));
+                case "burst": {
+                    long everyMs = period(p[3], spec);
+                    long burstMs = Long.parseLong(p[4]);
+                    if (burstMs < 0 || burstMs > everyMs) {
+                        throw new IllegalArgumentException("Burst length must be 0.." + everyMs + " ms: " + spec);
+                    }
+                    return burst(rate(p[1], spec), rate(p[2], spec), everyMs, burstMs);
+                }
+                default:
+                    break;
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid arrival profile: " + spec, e);
+        }
+        throw new IllegalArgumentException("Unknown arrival profile: " + spec);
+    }
+
+    private static double rate(String value, String spec) {
+        double rate = Double.parseDouble(value);
+        if (!(rate >= 0) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException("Rate must be a finite number >= 0: " + spec);
+        }
+        return rate;
+    }
+
+    private static long period(String value, String spec) {
+        long ms = Long.parseLong(value);
+        if (ms <= 0) throw new IllegalArgumentException("Period must be > 0 ms: " + spec);
+        return ms;
+    }
+}
@@ -0,0 +1,22 @@
+package com.traffic.generator;
+
+import com.traffic.core.ArrivalSource;
+import com.traffic.core.SimulationEngine;
+
+// Feeds a TrafficPattern into the discrete-event simulator, one generator cycle per CYCLE_MS
+public class PatternArrivals implements ArrivalSource {
+
+    private final TrafficPattern pattern;
+    private long seq = 0;
+
+    public PatternArrivals(TrafficPattern pattern) {
+        this.pattern = pattern;
+    }
+
+    @Override
+    public long arrive(long now, SimulationEngine engine) {
+        seq++;
+        pattern.generateCycle(seq, now, (road, id, lane, time) -> engine.enqueue(road, lane, id));
+        return now + TrafficPattern.CYCLE_MS;
+    }
+}
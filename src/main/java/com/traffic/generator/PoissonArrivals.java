@@ -0,0 +1,96 @@
+package com.traffic.generator;
+
+import com.traffic.core.ArrivalSource;
+import com.traffic.core.SimulationEngine;
+import com.traffic.core.VehicleId;
+
+import java.util.SplittableRandom;
+
+// Independent Poisson arrivals on every SourceLane, the profile's rate split evenly between them.
+// Time-varying profiles are sampled by thinning. Each source has its own SplittableRandom derived
+// from the seed, so the whole arrival sequence is reproducible from (profile, seed).
+public class PoissonArrivals implements ArrivalSource {
+
+    private final ArrivalProfile profile;
+    private final TrafficPattern.SourceLane[] sources;
+    private final SplittableRandom[] rngs;
+    private final double[] nextAt;   // ms since start of the next arrival per source
+    private final double peakPerSource;
+
+    private long seq = 0;
+    private long emitted = 0;
+
+    public PoissonArrivals(ArrivalProfile profile, long seed) {
+        this.profile = profile;
+        this.sources = TrafficPattern.SOURCES.toArray(new TrafficPattern.SourceLane[0]);
+        this.rngs = new SplittableRandom[sources.length];
+        this.nextAt = new double[sources.length];
+        this.peakPerSource = profile.peakRate() / sources.length;
+
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int i = 0; i < sources.length; i++) {
+            rngs[i] = root.split();
+            nextAt[i] = next(i, 0);
+        }
+    }
+
+    // Emits, in time order, every arrival scheduled up to elapsedMs. Record times are
+    // startEpochMs + arrival offset. Returns the number emitted.
+    public int emitUntil(double elapsedMs, long startEpochMs, VehicleSink sink) {
+        int count = 0;
+        while (true) {
+            int i = earliest();
+            if (i < 0 || nextAt[i] > elapsedMs) break;
+            emit(i, startEpochMs + (long) nextAt[i], sink);
+            nextAt[i] = next(i, nextAt[i]);
+            count++;
+        }
+        emitted += count;
+        return count;
+    }
+
+    // ms since start of the next pending arrival (infinite if the profile is all zero)
+    public double nextArrivalAt() {
+        int i = earliest();
+        return i < 0 ? Double.POSITIVE_INFINITY : nextAt[i];
+    }
+
+    public long getEmitted() {
+        return emitted;
+    }
+
+    // Discrete-event mode: the simulation clock starts at 0, so offsets are engine times
+    @Override
+    public long arrive(long now, SimulationEngine engine) {
+        emitUntil(now, 0, (road, id, lane, time) -> engine.enqueue(road, lane, id));
+        double next = nextArrivalAt();
+        return Double.isInfinite(next) ? NO_MORE : (long) Math.ceil(next);
+    }
+
+    private void emit(int i, long time, VehicleSink sink) {
+        TrafficPattern.SourceLane src = sources[i];
+        TrafficPattern.Dest dst = src.dests.get(src.dests.size() == 1 ? 0 : rngs[i].nextInt(src.dests.size()));
+        long id = VehicleId.of(src.roadIndex, src.lane, dst.roadIndex, dst.lane, ++seq);
+        sink.accept(src.road, id, src.lane, time);
+    }
+
+    // Next accepted arrival after 'from' for source i (Lewis-Shedler thinning)
+    private double next(int i, double from) {
+        if (peakPerSource <= 0) return Double.POSITIVE_INFINITY;
+        SplittableRandom rng = rngs[i];
+        double t = from;
+        while (true) {
+            t += -Math.log(1.0 - rng.nextDouble()) * 1000.0 / peakPerSource;
+            double rate = profile.rateAt(t) / sources.length;
+            if (rate >= peakPerSource || rng.nextDouble() * peakPerSource < rate) return t;
+        }
+    }
+
+    private int earliest() {
+        int best = -1;
+        for (int i = 0; i < nextAt.length; i++) {
+            if (nextAt[i] != Double.POSITIVE_INFINITY && (best < 0 || nextAt[i] < nextAt[best])) best = i;
+        }
+        return best;
+    }
+}
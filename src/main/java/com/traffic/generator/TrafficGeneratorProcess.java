@@ -1,61 +1,81 @@
 package com.traffic.generator;
 
+import com.traffic.core.Roads;
+import com.traffic.ingest.CsvLaneWriter;
+import com.traffic.ingest.LaneFiles;
+import com.traffic.ingest.MappedLaneWriter;
+import com.traffic.ingest.SyncPolicy;
+import com.traffic.log.EventLog;
+import com.traffic.log.LogLevel;
+
 import java.io.*;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 public class TrafficGeneratorProcess {
 
-    private static final String LANE_A_FILE = "lanea.txt";
-    private static final String LANE_B_FILE = "laneb.txt";
-    private static final String LANE_C_FILE = "lanec.txt";
-    private static final String LANE_D_FILE = "laned.txt";
-
-    private static final Random RNG = new Random();
-    private static volatile boolean running = true;
-
-
-    private static final int CYCLE_MS = 1000;          // 1 second
-    private static final double EXTRA_CAR_PROB = 0.40; // chance of second car
-
-    private static final List<SourceLane> SOURCES = Arrays.asList(
-            // Road A outgoing
-            new SourceLane("A", 2, Arrays.asList(new Dest("B", 1), new Dest("D", 1))),
-            new SourceLane("A", 3, Arrays.asList(new Dest("C", 1))),
+    // CSV text files by default, -Dtraffic.lane.format=mapped for the binary ring
+    private static final LaneFiles.Format FORMAT = LaneFiles.format();
+    private static final MappedLaneWriter[] MAPPED_WRITERS = new MappedLaneWriter[Roads.COUNT];
 
-            // Road B outgoing
-            new SourceLane("B", 2, Arrays.asList(new Dest("A", 1))),
-            new SourceLane("B", 3, Arrays.asList(new Dest("D", 1))),
+    // One CSV writer per road kept open for the whole run, batching records.
+    // -Dtraffic.writer.batch=N records, -Dtraffic.writer.flushMs=T, -Dtraffic.writer.sync=none|batch|interval,
+    // -Dtraffic.writer.syncMs=T for the interval policy
+    private static final CsvLaneWriter[] CSV_WRITERS = new CsvLaneWriter[Roads.COUNT];
+    private static final int BATCH_RECORDS = Integer.getInteger("traffic.writer.batch", 256);
+    private static final long FLUSH_INTERVAL_MS = Long.getLong("traffic.writer.flushMs", 50L);
+    private static final SyncPolicy SYNC_POLICY = SyncPolicy.parse(System.getProperty("traffic.writer.sync"), SyncPolicy.NONE);
+    private static final long SYNC_INTERVAL_MS = Long.getLong("traffic.writer.syncMs", 1000L);
 
-            // Road C outgoing
-            new SourceLane("C", 2, Arrays.asList(new Dest("D", 1), new Dest("A", 1))),
-            new SourceLane("C", 3, Arrays.asList(new Dest("B", 1))),
+    private static final long REPORT_INTERVAL_MS = 1000;
 
-            // Road D outgoing
-            new SourceLane("D", 2, Arrays.asList(new Dest("C", 1), new Dest("B", 1))),
-            new SourceLane("D", 3, Arrays.asList(new Dest("A", 1)))
-    );
-
-    // round-robin pointer
-    private static int rrIndex = 0;
+    private static TrafficPattern pattern;
+    private static volatile boolean running = true;
 
+    // Usage: TrafficGeneratorProcess [--seed=N] [--profile=SPEC]
+    //   without --profile: the classic pattern, one or two cars per CYCLE_MS
+    //   --profile=constant:100000 | rush:BASE:PEAK:PERIOD_MS | burst:BASE:BURST:EVERY_MS:LENGTH_MS
+    //     Poisson arrivals per source lane at the profile's rate (vehicles/sec, all lanes together)
     public static void main(String[] args) {
-        System.out.println("TrafficGeneratorProcess STARTED");
+        long seed = System.nanoTime();
+        ArrivalProfile profile = null;
+        for (String arg : args) {
+            if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring("--seed=".length()));
+            else if (arg.startsWith("--profile=")) profile = ArrivalProfile.parse(arg.substring("--profile=".length()));
+            else throw new IllegalArgumentException("Unknown argument: " + arg);
+        }
+
+        System.out.println("TrafficGeneratorProcess STARTED (seed " + seed
+                + (profile == null ? "" : ", profile " + profile) + ")");
         System.out.println("Press Ctrl+C to stop.\n");
 
         clearLaneFiles();
+        if (FORMAT == LaneFiles.Format.MAPPED) openMappedWriters();
+        else openCsvWriters();
 
+        // Ctrl+C: stop the loop and drain every pending batch so no generated record is lost
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             running = false;
             System.out.println("\nTraffic Generator shutting down...");
+            closeWriters();
         }));
 
+        if (profile != null) {
+            runProfile(new PoissonArrivals(profile, seed), profile);
+            System.out.println("Traffic Generator STOPPED");
+            return;
+        }
+
+        pattern = new TrafficPattern(new Random(seed), TrafficPattern.DEFAULT_EXTRA_CAR_PROB);
         long seq = 0;
         while (running) {
             try {
                 seq++;
                 generateCycle(seq);
-                TimeUnit.MILLISECONDS.sleep(CYCLE_MS);
+                // nothing else is written while we sleep, so don't hold the batch for the whole cycle
+                flushCsvWriters();
+                TimeUnit.MILLISECONDS.sleep(TrafficPattern.CYCLE_MS);
             } catch (InterruptedException e) {
                 break;
             } catch (Exception e) {
@@ -68,81 +88,135 @@ public class TrafficGeneratorProcess {
 
     private static void generateCycle(long seq) {
         long now = System.currentTimeMillis();
+        pattern.generateCycle(seq, now, TrafficGeneratorProcess::emit);
+    }
+
+    private static void emit(String road, long id, int lane, long time) {
+        if (FORMAT == LaneFiles.Format.MAPPED) appendMapped(road, id, lane, time);
+        else writeVehicle(road, id, lane, time);
+        EventLog.vehicle(LogLevel.DEBUG, "vehicle.generated", road, id, "lane", lane);
+    }
 
-        // one vehicle from next outgoing lane in round-robin
-        SourceLane s1 = SOURCES.get(rrIndex);
-        rrIndex = (rrIndex + 1) % SOURCES.size();
-        emitFromSource(s1, seq, now);
+    // High-rate mode: emit every arrival that is due, sleep only when the next one is in the future,
+    // and report the achieved rate against the profile so a generator bottleneck is visible
+    private static void runProfile(PoissonArrivals arrivals, ArrivalProfile profile) {
+        long startNs = System.nanoTime();
+        long startEpochMs = System.currentTimeMillis();
+        long nextReportMs = REPORT_INTERVAL_MS;
+        long reportedCount = 0;
+        double targetCount = 0;
+        double targetAt = 0;
 
+        while (running) {
+            double elapsedMs = (System.nanoTime() - startNs) / 1_000_000.0;
+            arrivals.emitUntil(elapsedMs, startEpochMs, TrafficGeneratorProcess::emit);
+            flushCsvWritersIfDue();
+
+            // expected arrivals = integral of the profile rate, 1 ms steps
+            for (; targetAt + 1 <= elapsedMs; targetAt++) targetCount += profile.rateAt(targetAt) / 1000.0;
+
+            if (elapsedMs >= nextReportMs) {
+                long count = arrivals.getEmitted();
+                double seconds = REPORT_INTERVAL_MS / 1000.0;
+                long achieved = Math.round((count - reportedCount) / seconds);
+                long target = Math.round(targetCount / seconds);
+                double behindMs = Math.max(0, elapsedMs - arrivals.nextArrivalAt());
+                EventLog.log(achieved < target * 0.95 ? LogLevel.WARN : LogLevel.INFO, "generator.rate", null,
+                        "target", target, "achieved", achieved);
+                if (behindMs > REPORT_INTERVAL_MS) {
+                    EventLog.log(LogLevel.WARN, "generator.behind", null, "ms", (long) behindMs);
+                }
+                reportedCount = count;
+                targetCount = 0;
+                nextReportMs += REPORT_INTERVAL_MS;
+            }
 
-        if (RNG.nextDouble() < EXTRA_CAR_PROB) {
-            SourceLane s2 = SOURCES.get(RNG.nextInt(SOURCES.size()));
-            emitFromSource(s2, seq + 9999, now); // different suffix to reduce id collisions
+            double waitMs = arrivals.nextArrivalAt() - (System.nanoTime() - startNs) / 1_000_000.0;
+            if (waitMs > 1) LockSupport.parkNanos((long) (Math.min(waitMs, REPORT_INTERVAL_MS) * 1_000_000));
         }
     }
 
-    private static void emitFromSource(SourceLane src, long seq, long now) {
-        //Will not generate vehicle Lane 1
-        if (src.lane == 1) return;
+    private static void openCsvWriters() {
+        for (int i = 0; i < Roads.COUNT; i++) {
+            try {
+                CSV_WRITERS[i] = new CsvLaneWriter(LaneFiles.path(Roads.idOf(i), LaneFiles.Format.CSV),
+                        BATCH_RECORDS, FLUSH_INTERVAL_MS, SYNC_POLICY, SYNC_INTERVAL_MS);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open lane file for road " + Roads.idOf(i), e);
+            }
+        }
+    }
 
-        // itself choose destination from its allowed list
-        Dest dst = src.dests.get(RNG.nextInt(src.dests.size()));
+    private static void flushCsvWriters() {
+        for (CsvLaneWriter w : CSV_WRITERS) {
+            if (w == null) continue;
+            try {
+                w.flush();
+            } catch (IOException e) {
+                System.err.println("Error writing to " + w.getFile() + ": " + e.getMessage());
+            }
+        }
+    }
 
-        //  car must move to  lane 1 not others
-        if (dst.lane != 1) return;
+    private static void flushCsvWritersIfDue() {
+        for (CsvLaneWriter w : CSV_WRITERS) {
+            if (w == null) continue;
+            try {
+                w.flushIfDue();
+            } catch (IOException e) {
+                System.err.println("Error writing to " + w.getFile() + ": " + e.getMessage());
+            }
+        }
+    }
 
-        String id = src.road + src.lane + dst.road + dst.lane + "-" + (seq % 100000);
-        writeVehicle(fileForRoad(src.road), id, src.lane, now);
+    private static void closeWriters() {
+        for (CsvLaneWriter w : CSV_WRITERS) {
+            if (w == null) continue;
+            try {
+                w.close();
+            } catch (IOException e) {
+                System.err.println("Error closing " + w.getFile() + ": " + e.getMessage());
+            }
+        }
+        for (MappedLaneWriter w : MAPPED_WRITERS) {
+            if (w != null) w.close();
+        }
+    }
 
-        System.out.println("Generated: " + id + " (src " + src.road + src.lane + " -> " + dst.road + dst.lane + ")");
+    private static void openMappedWriters() {
+        for (int i = 0; i < Roads.COUNT; i++) {
+            try {
+                MAPPED_WRITERS[i] = new MappedLaneWriter(LaneFiles.path(Roads.idOf(i), LaneFiles.Format.MAPPED));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create lane log for road " + Roads.idOf(i), e);
+            }
+        }
     }
 
-    private static String fileForRoad(String road) {
-        switch (road) {
-            case "A": return LANE_A_FILE;
-            case "B": return LANE_B_FILE;
-            case "C": return LANE_C_FILE;
-            case "D": return LANE_D_FILE;
-            default: throw new IllegalArgumentException("Invalid road: " + road);
+    private static void appendMapped(String road, long id, int lane, long time) {
+        if (!MAPPED_WRITERS[Roads.indexOf(road)].append(id, lane, time)) {
+            EventLog.vehicle(LogLevel.WARN, "lane.full", road, id, "lane", lane);
         }
     }
 
-    private static synchronized void writeVehicle(String file, String id, int lane, long time) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, true))) {
-            bw.write(id + "," + lane + "," + time);
-            bw.newLine();
+    private static void writeVehicle(String road, long id, int lane, long time) {
+        CsvLaneWriter w = CSV_WRITERS[Roads.indexOf(road)];
+        try {
+            w.append(id, lane, time);
         } catch (IOException e) {
-            System.err.println("Error writing to " + file + ": " + e.getMessage());
+            System.err.println("Error writing to " + w.getFile() + ": " + e.getMessage());
         }
     }
 
     private static void clearLaneFiles() {
-        delete(LANE_A_FILE);
-        delete(LANE_B_FILE);
-        delete(LANE_C_FILE);
-        delete(LANE_D_FILE);
+        for (String road : Roads.IDS) {
+            delete(LaneFiles.path(road, LaneFiles.Format.CSV).toString());
+            delete(LaneFiles.path(road, LaneFiles.Format.MAPPED).toString());
+        }
     }
 
     private static void delete(String f) {
         File file = new File(f);
         if (file.exists()) file.delete();
     }
-
-    // Simple structs
-    private static class Dest {
-        final String road;
-        final int lane; // must be 1
-        Dest(String road, int lane) { this.road = road; this.lane = lane; }
-    }
-
-    private static class SourceLane {
-        final String road;
-        final int lane; // must be 2 or 3
-        final List<Dest> dests;
-        SourceLane(String road, int lane, List<Dest> dests) {
-            this.road = road;
-            this.lane = lane;
-            this.dests = dests;
-        }
-    }
 }
@@ -0,0 +1,90 @@
+package com.traffic.generator;
+
+import com.traffic.core.Roads;
+import com.traffic.core.Routes;
+import com.traffic.core.VehicleId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Arrival pattern shared by the generator process and the headless simulator:
+// one car per cycle round-robin over SOURCES, plus an optional extra random car.
+public class TrafficPattern {
+
+    public static final long CYCLE_MS = 1000;                 // 1 second
+    public static final double DEFAULT_EXTRA_CAR_PROB = 0.40; // chance of second car
+
+    // every source lane of the junction, in road order, with its allowed turns from core.Routes
+    static final List<SourceLane> SOURCES = buildSources();
+
+    private final Random rng;
+    private final double extraCarProb;
+
+    // round-robin pointer
+    private int rrIndex = 0;
+
+    public TrafficPattern(Random rng, double extraCarProb) {
+        this.rng = rng;
+        this.extraCarProb = extraCarProb;
+    }
+
+    public void generateCycle(long seq, long now, VehicleSink sink) {
+        // one vehicle from next outgoing lane in round-robin
+        SourceLane s1 = SOURCES.get(rrIndex);
+        rrIndex = (rrIndex + 1) % SOURCES.size();
+        emitFromSource(s1, seq, now, sink);
+
+        if (rng.nextDouble() < extraCarProb) {
+            SourceLane s2 = SOURCES.get(rng.nextInt(SOURCES.size()));
+            emitFromSource(s2, seq + 9999, now, sink); // different suffix to reduce id collisions
+        }
+    }
+
+    private void emitFromSource(SourceLane src, long seq, long now, VehicleSink sink) {
+        //Will not generate vehicle Lane 1
+        if (src.lane == 1) return;
+
+        // itself choose destination from its allowed list
+        Dest dst = src.dests.get(rng.nextInt(src.dests.size()));
+
+        //  car must move to  lane 1 not others
+        if (dst.lane != 1) return;
+
+        long id = VehicleId.of(src.roadIndex, src.lane, dst.roadIndex, dst.lane, seq % 100000);
+        sink.accept(src.road, id, src.lane, now);
+    }
+
+    private static List<SourceLane> buildSources() {
+        List<SourceLane> sources = new ArrayList<>();
+        for (int road = 0; road < Roads.COUNT; road++) {
+            for (int lane = Routes.FIRST_SOURCE_LANE; lane <= Routes.LAST_SOURCE_LANE; lane++) {
+                List<Dest> dests = new ArrayList<>();
+                for (int dst : Routes.destinations(road, lane)) dests.add(new Dest(Roads.idOf(dst), 1));
+                sources.add(new SourceLane(Roads.idOf(road), lane, dests));
+            }
+        }
+        return sources;
+    }
+
+    // Simple structs
+    static class Dest {
+        final String road;
+        final int roadIndex;
+        final int lane; // must be 1
+        Dest(String road, int lane) { this.road = road; this.roadIndex = Roads.indexOf(road); this.lane = lane; }
+    }
+
+    static class SourceLane {
+        final String road;
+        final int roadIndex;
+        final int lane; // must be 2 or 3
+        final List<Dest> dests;
+        SourceLane(String road, int lane, List<Dest> dests) {
+            this.road = road;
+            this.roadIndex = Roads.indexOf(road);
+            this.lane = lane;
+            this.dests = dests;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.traffic.generator;
+
+// Receives every vehicle produced by a TrafficPattern (lane files, headless engine, ...)
+public interface VehicleSink {
+    void accept(String roadId, long vehicleId, int lane, long time);
+}
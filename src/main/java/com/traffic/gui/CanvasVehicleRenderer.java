@@ -0,0 +1,224 @@
+package com.traffic.gui;
+
+import com.traffic.core.Roads;
+import com.traffic.core.VehicleId;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Draws every car onto one Canvas instead of one Rectangle (and PathTransition) per car, so the scene
+// graph stays the same size however much traffic there is. Queues and moving cars are primitive arrays;
+// each pulse clears the canvas, draws the visible part of every queue and moves released cars along the
+// same straight or quadratic paths the node renderer animates (control point at the junction centre).
+public class CanvasVehicleRenderer implements VehicleRenderer {
+
+    private static final Color[] PALETTE = {Color.BLUE, Color.RED, Color.GREEN, Color.ORANGE, Color.PURPLE, Color.CYAN, Color.PINK};
+    private static final byte PRIORITY_COLOR = -1;     // lane 2 cars are gold
+
+    private static final long CROSSING_NS = (long) (CROSSING_SECONDS * 1_000_000_000L);
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final JunctionGeometry geometry;
+    private final Random random;
+
+    // Waiting cars per [road * 4 + lane] (lanes 2 and 3 used)
+    private final CarQueue[] queues = new CarQueue[Roads.COUNT * 4];
+
+    // Moving cars: start, control and end point, start time, colour and road (for orientation)
+    private int moving;
+    private double[] startX = new double[256], startY = new double[256];
+    private double[] ctrlX = new double[256], ctrlY = new double[256];
+    private double[] endX = new double[256], endY = new double[256];
+    private long[] startedAt = new long[256];
+    private byte[] colors = new byte[256];
+    private byte[] roads = new byte[256];
+    private boolean[] curved = new boolean[256];
+
+    public CanvasVehicleRenderer(Pane pane, double centerX, double centerY, long seed) {
+        this.geometry = new JunctionGeometry(centerX, centerY);
+        this.random = new Random(seed);
+        this.canvas = new Canvas(centerX * 2, centerY * 2);
+        this.gc = canvas.getGraphicsContext2D();
+        canvas.setMouseTransparent(true);
+        pane.getChildren().add(canvas);
+        for (int i = 0; i < queues.length; i++) queues[i] = new CarQueue();
+    }
+
+    @Override
+    public void addWaitingCar(String roadId, int laneNumber, long vehicleId) {
+        //lane1 is accept-only; never draw it as a source queue
+        if (laneNumber != 2 && laneNumber != 3) return;
+        byte color = laneNumber == 2 ? PRIORITY_COLOR : (byte) random.nextInt(PALETTE.length);
+        queues[Roads.indexOf(roadId) * 4 + laneNumber].add(vehicleId, color);
+    }
+
+    @Override
+    public void releaseWaitingCars(String roadId, int laneNumber, int count) {
+        if (laneNumber != 2 && laneNumber != 3) return;
+        int road = Roads.indexOf(roadId);
+        CarQueue queue = queues[road * 4 + laneNumber];
+        long now = System.nanoTime();
+
+        // the i-th released car starts from the slot it was waiting in
+        for (int i = 0; i < count && queue.size > 0; i++) {
+            byte color = queue.headColor();
+            long vehicleId = queue.poll();
+            int dst = vehicleId != VehicleId.NONE ? VehicleId.dstRoad(vehicleId) : random.nextInt(Roads.COUNT);
+            startMoving(road, dst, geometry.slotX(road, laneNumber, i), geometry.slotY(road, laneNumber, i), color, now);
+        }
+    }
+
+    private void startMoving(int src, int dst, double x, double y, byte color, long now) {
+        if (moving == startX.length) grow();
+        int m = moving++;
+        startX[m] = x;
+        startY[m] = y;
+        ctrlX[m] = geometry.centerX();
+        ctrlY[m] = geometry.centerY();
+        endX[m] = geometry.exitX(dst);
+        endY[m] = geometry.exitY(dst);
+        startedAt[m] = now;
+        colors[m] = color;
+        roads[m] = (byte) src;
+        curved[m] = !JunctionGeometry.isStraight(src, dst);
+    }
+
+    // Queues are drawn from their slots every frame, nothing to move
+    @Override
+    public void layoutDirtyLanes() {
+    }
+
+    @Override
+    public void renderFrame(long now) {
+        double width = canvas.getWidth(), height = canvas.getHeight();
+        double margin = JunctionGeometry.CAR_LENGTH;
+        gc.clearRect(0, 0, width, height);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+
+        for (int road = 0; road < Roads.COUNT; road++) {
+            for (int lane = 2; lane <= 3; lane++) {
+                CarQueue queue = queues[road * 4 + lane];
+                for (int idx = 0; idx < queue.size; idx++) {
+                    double x = geometry.slotX(road, lane, idx);
+                    double y = geometry.slotY(road, lane, idx);
+                    // slots only get further out, stop at the first one off screen
+                    if (x < -margin || y < -margin || x > width + margin || y > height + margin) break;
+                    drawCar(x, y, road, queue.color(idx));
+                }
+            }
+        }
+
+        for (int m = 0; m < moving; m++) {
+            double t = (double) (now - startedAt[m]) / CROSSING_NS;
+            if (t >= 1) {
+                removeMoving(m--);
+                continue;
+            }
+            if (t < 0) t = 0;
+            double u = 1 - t;
+            double x, y;
+            if (curved[m]) {
+                x = u * u * startX[m] + 2 * u * t * ctrlX[m] + t * t * endX[m];
+                y = u * u * startY[m] + 2 * u * t * ctrlY[m] + t * t * endY[m];
+            } else {
+                x = startX[m] + (endX[m] - startX[m]) * t;
+                y = startY[m] + (endY[m] - startY[m]) * t;
+            }
+            drawCar(x, y, roads[m], colors[m]);
+        }
+    }
+
+    // Cars keep the orientation of their source road while crossing, as with PathTransition
+    private void drawCar(double x, double y, int road, byte color) {
+        double w = JunctionGeometry.vertical(road) ? JunctionGeometry.CAR_WIDTH : JunctionGeometry.CAR_LENGTH;
+        double h = JunctionGeometry.vertical(road) ? JunctionGeometry.CAR_LENGTH : JunctionGeometry.CAR_WIDTH;
+        gc.setFill(color == PRIORITY_COLOR ? Color.GOLD : PALETTE[color]);
+        gc.fillRect(x - w / 2, y - h / 2, w, h);
+        gc.strokeRect(x - w / 2, y - h / 2, w, h);
+    }
+
+    // Swap-remove: order of moving cars does not matter
+    private void removeMoving(int m) {
+        int last = --moving;
+        startX[m] = startX[last];
+        startY[m] = startY[last];
+        ctrlX[m] = ctrlX[last];
+        ctrlY[m] = ctrlY[last];
+        endX[m] = endX[last];
+        endY[m] = endY[last];
+        startedAt[m] = startedAt[last];
+        colors[m] = colors[last];
+        roads[m] = roads[last];
+        curved[m] = curved[last];
+    }
+
+    private void grow() {
+        int cap = startX.length * 2;
+        startX = Arrays.copyOf(startX, cap);
+        startY = Arrays.copyOf(startY, cap);
+        ctrlX = Arrays.copyOf(ctrlX, cap);
+        ctrlY = Arrays.copyOf(ctrlY, cap);
+        endX = Arrays.copyOf(endX, cap);
+        endY = Arrays.copyOf(endY, cap);
+        startedAt = Arrays.copyOf(startedAt, cap);
+        colors = Arrays.copyOf(colors, cap);
+        roads = Arrays.copyOf(roads, cap);
+        curved = Arrays.copyOf(curved, cap);
+    }
+
+    public int getMovingCount() {
+        return moving;
+    }
+
+    @Override
+    public String toString() {
+        return "canvas (" + moving + " moving)";
+    }
+
+    // Growable ring of (vehicle id, colour) for one queue
+    private static final class CarQueue {
+        private long[] ids = new long[16];
+        private byte[] colors = new byte[16];
+        private int head;
+        private int size;
+
+        void add(long vehicleId, byte color) {
+            if (size == ids.length) {
+                long[] biggerIds = new long[ids.length * 2];
+                byte[] biggerColors = new byte[ids.length * 2];
+                for (int i = 0; i < size; i++) {
+                    biggerIds[i] = ids[(head + i) & (ids.length - 1)];
+                    biggerColors[i] = colors[(head + i) & (ids.length - 1)];
+                }
+                ids = biggerIds;
+                colors = biggerColors;
+                head = 0;
+            }
+            int slot = (head + size) & (ids.length - 1);
+            ids[slot] = vehicleId;
+            colors[slot] = color;
+            size++;
+        }
+
+        byte headColor() {
+            return colors[head];
+        }
+
+        byte color(int idx) {
+            return colors[(head + idx) & (ids.length - 1)];
+        }
+
+        long poll() {
+            long id = ids[head];
+            head = (head + 1) & (ids.length - 1);
+            size--;
+            return id;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.traffic.gui;
+
+import com.traffic.core.LightState;
+import javafx.animation.AnimationTimer;
+import javafx.scene.paint.Color;
+
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+// Collects model changes into a RenderDelta and applies them once per JavaFX pulse, so the UI does at
+// most one batch of work per frame however many vehicles arrive or move. Two deltas are swapped on each
+// pulse and reused, nothing is posted with Platform.runLater. The model side runs on the FX thread, or on
+// the junction controller and road release workers (-Dtraffic.gui.workers=true), so writes and the swap
+// share one lock; it is held for a few stores and uncontended when everything runs on the FX thread.
+final class FrameBatcher extends AnimationTimer {
+
+    private final Consumer<RenderDelta> applier;
+    private final LongConsumer everyPulse;
+    private RenderDelta pending = new RenderDelta();
+    private RenderDelta applying = new RenderDelta();
+
+    private long frames;
+    private long ops;
+    private int maxOpsPerFrame;
+
+    // everyPulse runs after the delta on every pulse, also when nothing changed (moving cars still move)
+    FrameBatcher(Consumer<RenderDelta> applier, LongConsumer everyPulse) {
+        this.applier = applier;
+        this.everyPulse = everyPulse;
+    }
+
+    // Model side, any thread: recorded into the delta applied on the next pulse
+
+    synchronized void arrival(int roadIndex, int lane, long vehicleId) {
+        pending.arrival(roadIndex, lane, vehicleId);
+    }
+
+    synchronized void release(int roadIndex, int lane, int count) {
+        pending.release(roadIndex, lane, count);
+    }
+
+    synchronized void light(int roadIndex, LightState state) {
+        pending.light(roadIndex, state);
+    }
+
+    synchronized void countsChanged() {
+        pending.countsChanged();
+    }
+
+    synchronized void debug(String text) {
+        pending.debug(text);
+    }
+
+    synchronized void status(String text, Color color) {
+        pending.status(text, color);
+    }
+
+    @Override
+    public void handle(long now) {
+        RenderDelta frame = swap();
+        if (frame != null) apply(frame);
+        everyPulse.accept(now);
+    }
+
+    // The applied delta was cleared on the previous pulse, so it can take new writes straight away
+    private synchronized RenderDelta swap() {
+        if (pending.isEmpty()) return null;
+        RenderDelta frame = pending;
+        pending = applying;
+        applying = frame;
+        return frame;
+    }
+
+    private void apply(RenderDelta frame) {
+        frames++;
+        ops += frame.size();
+        maxOpsPerFrame = Math.max(maxOpsPerFrame, frame.size());
+        try {
+            applier.accept(frame);
+        } finally {
+            frame.clear();
+        }
+    }
+
+    long getFrames() { return frames; }
+    long getOps() { return ops; }
+    int getMaxOpsPerFrame() { return maxOpsPerFrame; }
+}
@@ -0,0 +1,93 @@
+package com.traffic.gui;
+
+import com.traffic.core.Routes;
+
+// Screen positions shared by the vehicle renderers: where each queue slot is, which way cars on a road
+// face and where a released car leaves the screen. Roads by index (A top, B bottom, C right, D left).
+final class JunctionGeometry {
+
+    static final int LANE_WIDTH = 50;
+    static final int JUNCTION_SIZE = LANE_WIDTH * 4;
+    static final int ROAD_LENGTH = 300;
+
+    static final double CAR_WIDTH = 20;
+    static final double CAR_LENGTH = 35;
+    static final double QUEUE_GAP = 45;
+
+    // Distance from the junction edge to the first queued car
+    private static final double STOP_LINE = 40;
+
+    // [road][lane], lane 0 unused
+    private static final double[][] LANE_OFFSETS = {
+            {0, -LANE_WIDTH, 0, +LANE_WIDTH},   // A: L1 left, L2 mid, L3 right
+            {0, +LANE_WIDTH, 0, -LANE_WIDTH},   // B: L1 right, L2 mid, L3 left
+            {0, -LANE_WIDTH, 0, +LANE_WIDTH},   // C: L1 top, L2 mid, L3 bottom
+            {0, +LANE_WIDTH, 0, -LANE_WIDTH}    // D: L1 bottom, L2 mid, L3 top
+    };
+
+    private static final double[] ROTATIONS = {180, 0, -90, 90};
+
+    private final double centerX, centerY;
+
+    JunctionGeometry(double centerX, double centerY) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+    }
+
+    double centerX() { return centerX; }
+    double centerY() { return centerY; }
+
+    static double laneOffset(int road, int lane) {
+        if (lane < 1 || lane > 3) return 0;
+        return LANE_OFFSETS[road][lane];
+    }
+
+    static double rotation(int road) {
+        return ROTATIONS[road];
+    }
+
+    // Cars on A and B are drawn upright, cars on C and D lie across
+    static boolean vertical(int road) {
+        return road < 2;
+    }
+
+    static boolean isStraight(int src, int dst) {
+        return dst == Routes.opposite(src);
+    }
+
+    // Centre of queue slot idx (0 = at the stop line)
+    double slotX(int road, int lane, int idx) {
+        double off = laneOffset(road, lane);
+        switch (road) {
+            case 2: return centerX + JUNCTION_SIZE / 2.0 + STOP_LINE + idx * QUEUE_GAP;
+            case 3: return centerX - JUNCTION_SIZE / 2.0 - STOP_LINE - idx * QUEUE_GAP;
+            default: return centerX + off;
+        }
+    }
+
+    double slotY(int road, int lane, int idx) {
+        double off = laneOffset(road, lane);
+        switch (road) {
+            case 0: return centerY - JUNCTION_SIZE / 2.0 - STOP_LINE - idx * QUEUE_GAP;
+            case 1: return centerY + JUNCTION_SIZE / 2.0 + STOP_LINE + idx * QUEUE_GAP;
+            default: return centerY + off;
+        }
+    }
+
+    // End of the road a released car drives out on, in its lane 1
+    double exitX(int road) {
+        switch (road) {
+            case 2: return centerX + JUNCTION_SIZE / 2.0 + ROAD_LENGTH;
+            case 3: return centerX - JUNCTION_SIZE / 2.0 - ROAD_LENGTH;
+            default: return centerX + laneOffset(road, 1);
+        }
+    }
+
+    double exitY(int road) {
+        switch (road) {
+            case 0: return centerY - JUNCTION_SIZE / 2.0 - ROAD_LENGTH;
+            case 1: return centerY + JUNCTION_SIZE / 2.0 + ROAD_LENGTH;
+            default: return centerY + laneOffset(road, 1);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.traffic.gui;
+
+import com.traffic.core.LightState;
+import com.traffic.core.Roads;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+// Everything the model changed since the last frame: vehicle arrivals and releases in the order they
+// happened, plus the latest light state, texts and a counts flag (later values overwrite earlier ones).
+// FrameBatcher fills one while the previous one is being applied, then swaps them; a published delta is
+// not written again until it has been applied and cleared. Primitive arrays, reused across frames.
+final class RenderDelta {
+
+    static final int ARRIVAL = 0;
+    static final int RELEASE = 1;
+
+    private int[] kinds = new int[64];
+    private int[] roadLanes = new int[64];     // roadIndex << 4 | lane
+    private long[] values = new long[64];      // vehicle id for ARRIVAL, car count for RELEASE
+    private int size;
+
+    private final LightState[] lights = new LightState[Roads.COUNT];   // null = unchanged
+    private boolean countsDirty;
+    private String debugText;
+    private String statusText;
+    private Color statusColor;
+
+    void arrival(int roadIndex, int lane, long vehicleId) {
+        add(ARRIVAL, roadIndex << 4 | lane, vehicleId);
+    }
+
+    // Back-to-back releases from the same lane collapse into one op
+    void release(int roadIndex, int lane, int count) {
+        int roadLane = roadIndex << 4 | lane;
+        if (size > 0 && kinds[size - 1] == RELEASE && roadLanes[size - 1] == roadLane) {
+            values[size - 1] += count;
+            return;
+        }
+        add(RELEASE, roadLane, count);
+    }
+
+    private void add(int kind, int roadLane, long value) {
+        if (size == kinds.length) {
+            kinds = Arrays.copyOf(kinds, size * 2);
+            roadLanes = Arrays.copyOf(roadLanes, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        kinds[size] = kind;
+        roadLanes[size] = roadLane;
+        values[size] = value;
+        size++;
+    }
+
+    void light(int roadIndex, LightState state) {
+        lights[roadIndex] = state;
+    }
+
+    void countsChanged() {
+        countsDirty = true;
+    }
+
+    void debug(String text) {
+        debugText = text;
+    }
+
+    void status(String text, Color color) {
+        statusText = text;
+        statusColor = color;
+    }
+
+    int size() { return size; }
+    int kind(int i) { return kinds[i]; }
+    int roadIndex(int i) { return roadLanes[i] >>> 4; }
+    int lane(int i) { return roadLanes[i] & 0xF; }
+    long value(int i) { return values[i]; }
+
+    LightState light(int roadIndex) { return lights[roadIndex]; }
+    boolean isCountsDirty() { return countsDirty; }
+    String getDebugText() { return debugText; }
+    String getStatusText() { return statusText; }
+    Color getStatusColor() { return statusColor; }
+
+    boolean isEmpty() {
+        if (size > 0 || countsDirty || debugText != null || statusText != null) return false;
+        for (LightState s : lights) {
+            if (s != null) return false;
+        }
+        return true;
+    }
+
+    void clear() {
+        size = 0;
+        Arrays.fill(lights, null);
+        countsDirty = false;
+        debugText = null;
+        statusText = null;
+        statusColor = null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.traffic.gui;
+
+import com.traffic.core.Roads;
+import com.traffic.core.SimulationEngine;
+import com.traffic.core.Workers;
+
+import java.util.concurrent.Semaphore;
+
+// Releases one road's cars on its own blocking worker (a virtual thread where the JDK has them). The
+// junction controller grants a green (budget and length) and blocks in awaitFinished(); the worker
+// releases one car from each of L2 and L3 per headway (green / budget), so cars leave across the green,
+// including ones that arrive during it. Needs concurrent lanes (SpscVehicleQueue): the controller stays
+// the only producer of every lane while this worker is the only consumer of its road's lanes. Only one
+// road is green at a time and the semaphores order the grants, so the engine's release counters are
+// never written by two workers at once.
+final class RoadReleaseWorker {
+
+    private final SimulationEngine engine;
+    private final String roadId;
+    private final Semaphore granted = new Semaphore(0);
+    private final Semaphore finished = new Semaphore(0);
+    private final Thread thread;
+
+    // Written before granted.release(), read after granted.acquire()
+    private int budget;
+    private long greenMs;
+
+    RoadReleaseWorker(SimulationEngine engine, int roadIndex) {
+        this.engine = engine;
+        this.roadId = Roads.idOf(roadIndex);
+        this.thread = Workers.factory("road-release-" + roadId).newThread(this::run);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    // Controller thread
+    void grant(int budget, long greenMs) {
+        this.budget = budget;
+        this.greenMs = greenMs;
+        granted.release();
+    }
+
+    // Controller thread; returns once the granted budget or green has run out
+    void awaitFinished() throws InterruptedException {
+        finished.acquire();
+    }
+
+    Thread getThread() {
+        return thread;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                granted.acquire();
+                int rounds = budget;
+                long headwayMs = rounds > 0 ? greenMs / rounds : 0;
+                try {
+                    for (int i = 0; i < rounds; i++) {
+                        if (i > 0) Thread.sleep(headwayMs);
+                        engine.release(roadId, 1);
+                    }
+                } finally {
+                    finished.release();
+                }
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+}
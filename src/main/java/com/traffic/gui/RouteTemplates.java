@@ -0,0 +1,66 @@
+package com.traffic.gui;
+
+import com.traffic.core.Roads;
+import com.traffic.core.Routes;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.QuadCurveTo;
+
+// Crossing paths for released cars, built once and shared by every PathTransition that uses them
+// (a Path that is never added to the scene and never changed can back any number of transitions).
+// The 12 source -> destination road pairs start at the stop line of the lane Routes assigns them and are
+// built up front; a car released from further back in its queue, or from an unusual lane, gets a
+// variant that is built the first time and cached too, up to CACHED_SLOTS slots deep.
+final class RouteTemplates {
+
+    static final int CACHED_SLOTS = 8;
+
+    private final JunctionGeometry geometry;
+
+    // [src][lane - 2][dst][slot]
+    private final Path[][][][] paths = new Path[Roads.COUNT][2][Roads.COUNT][CACHED_SLOTS];
+
+    RouteTemplates(JunctionGeometry geometry) {
+        this.geometry = geometry;
+        for (int src = 0; src < Roads.COUNT; src++) {
+            for (int dst = 0; dst < Roads.COUNT; dst++) {
+                if (src != dst) path(src, naturalLane(src, dst), dst, 0);
+            }
+        }
+    }
+
+    // Lane a car for src -> dst queues in; turns Routes does not allow fall back to lane 2
+    static int naturalLane(int src, int dst) {
+        int lane = Routes.sourceLane(src, dst);
+        return lane == 0 ? Routes.FIRST_SOURCE_LANE : lane;
+    }
+
+    Path path(int src, int lane, int dst, int slot) {
+        if (slot >= CACHED_SLOTS) return build(src, lane, dst, slot);
+        Path[] slots = paths[src][lane - Routes.FIRST_SOURCE_LANE][dst];
+        if (slots[slot] == null) slots[slot] = build(src, lane, dst, slot);
+        return slots[slot];
+    }
+
+    int cachedCount() {
+        int count = 0;
+        for (Path[][][] byLane : paths)
+            for (Path[][] byDst : byLane)
+                for (Path[] bySlot : byDst)
+                    for (Path p : bySlot) if (p != null) count++;
+        return count;
+    }
+
+    // Destination is always incoming lane 1; straight across is a line, turns curve through the centre
+    private Path build(int src, int lane, int dst, int slot) {
+        Path path = new Path();
+        path.getElements().add(new MoveTo(geometry.slotX(src, lane, slot), geometry.slotY(src, lane, slot)));
+        if (JunctionGeometry.isStraight(src, dst)) {
+            path.getElements().add(new LineTo(geometry.exitX(dst), geometry.exitY(dst)));
+        } else {
+            path.getElements().add(new QuadCurveTo(geometry.centerX(), geometry.centerY(), geometry.exitX(dst), geometry.exitY(dst)));
+        }
+        return path;
+    }
+}
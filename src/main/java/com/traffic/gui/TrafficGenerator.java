@@ -1,10 +1,9 @@
-
 package com.traffic.gui;
 
-import com.traffic.core.Lane;
+import com.traffic.core.Roads;
+import com.traffic.core.VehicleId;
 import javafx.animation.Interpolator;
 import javafx.animation.PathTransition;
-import javafx.application.Platform;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.*;
@@ -12,299 +11,160 @@ import javafx.util.Duration;
 
 import java.util.*;
 
-public class TrafficGenerator {
-
-    private static final int LANE_WIDTH = 50;
-    private static final int JUNCTION_SIZE = LANE_WIDTH * 4;
-    private static final int ROAD_LENGTH = 300;
+// Node-based vehicle visuals. Called from the frame timer on the FX thread, so the scene graph is
+// changed directly; queues whose cars moved are laid out once per frame in layoutDirtyLanes().
+// Cars are pooled: a car that has crossed is hidden and reused for the next arrival together with
+// its PathTransition, and released cars follow shared RouteTemplates paths, so a long-running demo
+// allocates nothing per vehicle once the pool has warmed up.
+public class TrafficGenerator implements VehicleRenderer {
 
-    private final Lane laneA, laneB, laneC, laneD;
-    private final Pane simulationPane;
-    private final double centerX, centerY;
-    private final Random random = new Random();
+    // -Dtraffic.render.pool=N caps the hidden cars kept for reuse; surplus cars are dropped from the scene
+    public static final int POOL_SIZE = Integer.getInteger("traffic.render.pool", 1024);
 
-    // Waiting queues for all roads/laneNumbers
-    private final Map<String, List<Rectangle>> waiting = new HashMap<>();
+    private static final Color[] COLORS = {Color.BLUE, Color.RED, Color.GREEN, Color.ORANGE, Color.PURPLE, Color.CYAN, Color.PINK};
 
+    private final Pane simulationPane;
+    private final JunctionGeometry geometry;
+    private final RouteTemplates routes;
+    private final Random random;
+
+    // Waiting queues for all roads, [road * 4 + laneNumber] (lanes 2 and 3 used)
+    private final List<List<CarVisual>> waiting = new ArrayList<>(Roads.COUNT * 4);
+
+    // Queues that lost cars since the last layout
+    private final boolean[] dirtyLanes = new boolean[Roads.COUNT * 4];
+
+    private final ArrayDeque<CarVisual> pool = new ArrayDeque<>();
+    private long created;
+    private long reused;
+
+    // One car on screen: its rectangle, the transition that moves it and the vehicle it shows
+    private final class CarVisual {
+        final Rectangle shape = new Rectangle(JunctionGeometry.CAR_WIDTH, JunctionGeometry.CAR_LENGTH);
+        final PathTransition transition = new PathTransition(Duration.seconds(CROSSING_SECONDS), null, shape);
+        long vehicleId;
+
+        CarVisual() {
+            shape.setArcWidth(5);
+            shape.setArcHeight(5);
+            shape.setStroke(Color.BLACK);
+            transition.setInterpolator(Interpolator.LINEAR);
+            transition.setOnFinished(e -> recycle(this));
+        }
+    }
 
-    private final Map<String, double[]> laneOffsetsByRoad = new HashMap<>();
-
-    public TrafficGenerator(Lane laneA, Lane laneB, Lane laneC, Lane laneD,
-                            Pane simulationPane, double centerX, double centerY) {
+    public TrafficGenerator(Pane simulationPane, double centerX, double centerY, long seed) {
 
-        this.laneA = laneA;
-        this.laneB = laneB;
-        this.laneC = laneC;
-        this.laneD = laneD;
         this.simulationPane = simulationPane;
-        this.centerX = centerX;
-        this.centerY = centerY;
+        this.random = new Random(seed);
+        this.geometry = new JunctionGeometry(centerX, centerY);
+        this.routes = new RouteTemplates(geometry);
 
         // init waiting lists
-        for (String r : Arrays.asList("A", "B", "C", "D")) {
-            for (int l = 1; l <= 3; l++) {
-                waiting.put(r + l, new ArrayList<>());
-            }
-        }
-
-        //  lane placement
-        laneOffsetsByRoad.put("A", new double[]{0, -LANE_WIDTH, 0, +LANE_WIDTH}); // AL1 left, AL2 mid, AL3 right
-        laneOffsetsByRoad.put("B", new double[]{0, +LANE_WIDTH, 0, -LANE_WIDTH}); // BL1 right, BL2 mid, BL3 left
-        laneOffsetsByRoad.put("C", new double[]{0, -LANE_WIDTH, 0, +LANE_WIDTH}); // CL1 top, CL2 mid, CL3 bottom
-        laneOffsetsByRoad.put("D", new double[]{0, +LANE_WIDTH, 0, -LANE_WIDTH}); // DL1 bottom, DL2 mid, DL3 top
+        for (int i = 0; i < Roads.COUNT * 4; i++) waiting.add(new ArrayList<>());
     }
 
     // ---------------- Add waiting car ----------------
-    public void addWaitingCar(String roadId, int laneNumber, String vehicleId) {
+    @Override
+    public void addWaitingCar(String roadId, int laneNumber, long vehicleId) {
 
         //lane1 is accept-only; never draw it as a source queue
-        if (laneNumber == 1) return;
-
-        List<Rectangle> list = waiting.get(roadId + laneNumber);
-        if (list == null) return;
-
-        Rectangle car = new Rectangle(20, 35);
-        car.setArcWidth(5);
-        car.setArcHeight(5);
-        car.setFill(laneNumber == 2 ? Color.GOLD : getRandomCarColor());
-        car.setStroke(Color.BLACK);
-        car.setUserData(vehicleId);
-
-        int pos = list.size();
-        double gap = 45;
-        double off = laneOffset(roadId, laneNumber);
-
-        double cx = 0, cy = 0, rot = 0;
-        switch (roadId) {
-            case "A":
-                // A is top, cars queue upward
-                cx = centerX + off;
-                cy = (centerY - (JUNCTION_SIZE / 2.0) - 40) - (pos * gap);
-                rot = 180;
-                break;
-
-            case "B":
-                // B is bottom, cars queue downward
-                cx = centerX + off;
-                cy = (centerY + (JUNCTION_SIZE / 2.0) + 40) + (pos * gap);
-                rot = 0;
-                break;
-
-            case "C":
-                // C is right, cars queue to the right
-                cx = (centerX + (JUNCTION_SIZE / 2.0) + 40) + (pos * gap);
-                cy = centerY + off;
-                rot = -90;
-                break;
-
-            case "D":
-                // D is left, cars queue to the left
-                cx = (centerX - (JUNCTION_SIZE / 2.0) - 40) - (pos * gap);
-                cy = centerY + off;
-                rot = 90;
-                break;
-
-            default:
-                return;
-        }
+        if (laneNumber != 2 && laneNumber != 3) return;
 
-        car.setX(cx - 10);
-        car.setY(cy - 17.5);
-        car.setRotate(rot);
+        int road = Roads.indexOf(roadId);
+        List<CarVisual> list = waiting.get(road * 4 + laneNumber);
+
+        CarVisual car = acquire();
+        car.vehicleId = vehicleId;
+        car.shape.setFill(laneNumber == 2 ? Color.GOLD : COLORS[random.nextInt(COLORS.length)]);
+
+        // A queues upward, B downward, C to the right, D to the left
+        place(car, road, laneNumber, list.size());
+        car.shape.setRotate(JunctionGeometry.rotation(road));
+        car.shape.setVisible(true);
 
         list.add(car);
-        Platform.runLater(() -> simulationPane.getChildren().add(car));
     }
 
     //Release waiting cars
+    @Override
     public void releaseWaitingCars(String roadId, int laneNumber, int count) {
 
         // accept lane never serves as a source
-        if (laneNumber == 1) return;
-
-        List<Rectangle> list = waiting.get(roadId + laneNumber);
+        if (laneNumber != 2 && laneNumber != 3) return;
 
-        // correct null/empty check
-        if (list == null || list.isEmpty()) return;
+        int road = Roads.indexOf(roadId);
+        List<CarVisual> list = waiting.get(road * 4 + laneNumber);
+        if (list.isEmpty()) return;
 
-        Lane laneObj = getLaneByRoad(roadId);
+        // logical queues are dequeued by SimulationEngine, only the visuals move here;
+        // the i-th car of the batch leaves from slot i, where it was waiting
         int toRelease = Math.min(count, list.size());
-
         for (int i = 0; i < toRelease; i++) {
-            Rectangle car = list.remove(0);
-
-            // dequeue logical queue too (keeps sizes/priority correct)
-            dequeueFromLane(laneObj, laneNumber);
-
-            createAndAnimateCar(car, roadId);
+            CarVisual car = list.remove(0);
+            animate(car, road, laneNumber, i);
         }
 
-        reposition(roadId, laneNumber);
+        dirtyLanes[road * 4 + laneNumber] = true;
     }
 
-    // Reposition of the stopped traffic
-    private void reposition(String roadId, int laneNumber) {
-
-        List<Rectangle> list = waiting.get(roadId + laneNumber);
-
-        // correct null/empty check
-        if (list == null || list.isEmpty()) return;
-
-        double gap = 45;
-        double off = laneOffset(roadId, laneNumber);
-
-        for (int i = 0; i < list.size(); i++) {
-            Rectangle car = list.get(i);
-            int idx = i;
-
-            Platform.runLater(() -> {
-                double cx = 0, cy = 0;
-                switch (roadId) {
-                    case "A":
-                        cx = centerX + off;
-                        cy = (centerY - (JUNCTION_SIZE / 2.0) - 40) - (idx * gap);
-                        break;
-                    case "B":
-                        cx = centerX + off;
-                        cy = (centerY + (JUNCTION_SIZE / 2.0) + 40) + (idx * gap);
-                        break;
-                    case "C":
-                        cx = (centerX + (JUNCTION_SIZE / 2.0) + 40) + (idx * gap);
-                        cy = centerY + off;
-                        break;
-                    case "D":
-                        cx = (centerX - (JUNCTION_SIZE / 2.0) - 40) - (idx * gap);
-                        cy = centerY + off;
-                        break;
-                    default:
-                        return;
-                }
-                car.setTranslateX(0);
-                car.setTranslateY(0);
-                car.setX(cx - 10);
-                car.setY(cy - 17.5);
-            });
+    // Closes the gaps left by released cars, once per queue per frame
+    @Override
+    public void layoutDirtyLanes() {
+        for (int i = 0; i < dirtyLanes.length; i++) {
+            if (!dirtyLanes[i]) continue;
+            dirtyLanes[i] = false;
+            List<CarVisual> list = waiting.get(i);
+            for (int idx = 0; idx < list.size(); idx++) place(list.get(idx), i / 4, i % 4, idx);
         }
     }
 
-    //Car will animation as it recive
-    private void createAndAnimateCar(Rectangle car, String srcRoad) {
-        String vid = (car.getUserData() == null) ? "" : car.getUserData().toString();
-
-        // Generator writes: "B2->A1-123"
-        String dstRoad = parseDstRoad(vid);
-        if (dstRoad == null) dstRoad = randomIncomingRoad();
-
-        // Destination must always be incoming lane 1 (accept lane)
-        double[] end = destinationPoint(dstRoad, 1);
-
-        Path path = new Path();
-        double startX = car.getX() + 10;
-        double startY = car.getY() + 17.5;
-
-        path.getElements().add(new MoveTo(startX, startY));
-
-        boolean straight = isStraight(srcRoad, dstRoad);
-        if (straight) {
-            path.getElements().add(new LineTo(end[0], end[1]));
-        } else {
-            path.getElements().add(new QuadCurveTo(centerX, centerY, end[0], end[1]));
-        }
-
-        PathTransition pt = new PathTransition(Duration.seconds(3.5), path, car);
-        pt.setInterpolator(Interpolator.LINEAR);
-        pt.setOnFinished(e -> Platform.runLater(() -> simulationPane.getChildren().remove(car)));
-        pt.play();
+    private void place(CarVisual car, int road, int lane, int slot) {
+        car.shape.setTranslateX(0);
+        car.shape.setTranslateY(0);
+        car.shape.setX(geometry.slotX(road, lane, slot) - JunctionGeometry.CAR_WIDTH / 2);
+        car.shape.setY(geometry.slotY(road, lane, slot) - JunctionGeometry.CAR_LENGTH / 2);
     }
 
-    private String parseDstRoad(String id) {
-        try {
-            int arrow = id.indexOf("->");
-            if (arrow < 0) return null;
-
-            String right = id.substring(arrow + 2).trim(); // "A1-123"
-            int dash = right.indexOf("-");
-            if (dash >= 0) right = right.substring(0, dash);
+    //Car will animation as it recive
+    private void animate(CarVisual car, int src, int lane, int slot) {
+        // destination road is packed in the id, no string parsing needed
+        int dst = car.vehicleId != VehicleId.NONE ? VehicleId.dstRoad(car.vehicleId) : random.nextInt(Roads.COUNT);
 
-            if (right.length() < 2) return null;
-            return right.substring(0, 1);
-        } catch (Exception e) {
-            return null;
-        }
+        // Destination must always be incoming lane 1 (accept lane)
+        car.transition.setPath(routes.path(src, lane, dst, slot));
+        car.transition.playFromStart();
     }
 
-    // Designated point to move the car in that lane.
-    private double[] destinationPoint(String road, int lane) {
-        double off = laneOffset(road, lane);
-        switch (road) {
-            case "A":
-                return new double[]{centerX + off, centerY - (JUNCTION_SIZE / 2.0) - ROAD_LENGTH};
-            case "B":
-                return new double[]{centerX + off, centerY + (JUNCTION_SIZE / 2.0) + ROAD_LENGTH};
-            case "C":
-                return new double[]{centerX + (JUNCTION_SIZE / 2.0) + ROAD_LENGTH, centerY + off};
-            case "D":
-                return new double[]{centerX - (JUNCTION_SIZE / 2.0) - ROAD_LENGTH, centerY + off};
-            default:
-                return new double[]{centerX, centerY};
+    private CarVisual acquire() {
+        CarVisual car = pool.poll();
+        if (car != null) {
+            reused++;
+            return car;
         }
+        created++;
+        car = new CarVisual();
+        simulationPane.getChildren().add(car.shape);
+        return car;
     }
 
-    private boolean isStraight(String src, String dst) {
-        return (src.equals("A") && dst.equals("B"))
-                || (src.equals("B") && dst.equals("A"))
-                || (src.equals("C") && dst.equals("D"))
-                || (src.equals("D") && dst.equals("C"));
-    }
-
-    private String randomIncomingRoad() {
-        String[] r = {"A", "B", "C", "D"};
-        return r[random.nextInt(r.length)];
-    }
-
-    private double laneOffset(String roadId, int laneNumber) {
-        double[] offsets = laneOffsetsByRoad.get(roadId);
-        if (offsets == null) offsets = new double[]{0, +LANE_WIDTH, 0, -LANE_WIDTH};
-        if (laneNumber < 1 || laneNumber > 3) return 0;
-        return offsets[laneNumber];
-    }
-
-
-    private Lane getLaneByRoad(String r) {
-        switch (r) {
-            case "A":
-                return laneA;
-            case "B":
-                return laneB;
-            case "C":
-                return laneC;
-            case "D":
-                return laneD;
-            default:
-                return laneA;
+    // Crossed cars stay in the scene, hidden, until an arrival needs them
+    private void recycle(CarVisual car) {
+        if (pool.size() < POOL_SIZE) {
+            car.shape.setVisible(false);
+            pool.push(car);
+        } else {
+            simulationPane.getChildren().remove(car.shape);
         }
     }
 
-    //Fixed Dequeue of car stopped in red light
-    private void dequeueFromLane(Lane lane, int laneNumber) {
-        if (lane == null) return;
-        switch (laneNumber) {
-            case 1:
-                lane.dequeueFromIncoming();
-                break;
-            case 2:
-                lane.dequeueFromPriority();
-                break;
-            case 3:
-                lane.dequeueFromLeftTurn();
-                break;
-            default:
-                break;
-        }
-    }
+    public long getCreated() { return created; }
+    public long getReused() { return reused; }
+    public int getPooled() { return pool.size(); }
 
-    private Color getRandomCarColor() {
-        Color[] colors = {Color.BLUE, Color.RED, Color.GREEN, Color.ORANGE, Color.PURPLE, Color.CYAN, Color.PINK};
-        return colors[random.nextInt(colors.length)];
+    @Override
+    public String toString() {
+        return "nodes (" + created + " cars created, " + reused + " reused, " + pool.size() + " pooled, "
+                + routes.cachedCount() + " route paths)";
     }
 }
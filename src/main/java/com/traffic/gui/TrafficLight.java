@@ -1,23 +1,22 @@
 
 package com.traffic.gui;
 
+import com.traffic.core.LightState;
 import javafx.application.Platform;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 
 public class TrafficLight {
 
-    public enum State { RED, YELLOW, GREEN }
-
     private final Circle circle;
-    private State state = State.RED;
+    private LightState state = LightState.RED;
 
     public TrafficLight(Circle circle) {
         this.circle = circle;
-        setState(State.RED);
+        setState(LightState.RED);
     }
-    public void setState(State s) {
-        final State target = (s == null) ? State.RED : s; // s is  final variable for lambda expression
+    public void setState(LightState s) {
+        final LightState target = (s == null) ? LightState.RED : s; // s is  final variable for lambda expression
         this.state = target;
 
         Runnable updateUI = () -> {
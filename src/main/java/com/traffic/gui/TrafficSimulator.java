@@ -2,11 +2,26 @@
 package com.traffic.gui;
 
 import com.traffic.core.Lane;
-import com.traffic.core.LaneEntry;
-import com.traffic.core.TrafficScheduler;
-import javafx.animation.KeyFrame;
+import com.traffic.core.LightState;
+import com.traffic.core.PhaseController;
+import com.traffic.core.Roads;
+import com.traffic.core.SchedulingPolicy;
+import com.traffic.core.SimulationEngine;
+import com.traffic.core.SimulationListener;
+import com.traffic.core.SpscVehicleQueue;
+import com.traffic.core.VehicleId;
+import com.traffic.core.Workers;
+import com.traffic.ingest.LaneFileWatcher;
+import com.traffic.ingest.LaneFiles;
+import com.traffic.ingest.LaneReader;
+import com.traffic.ingest.VehicleHandoff;
+import com.traffic.journal.JournalRecorder;
+import com.traffic.log.EventLog;
+import com.traffic.log.LogLevel;
+import com.traffic.metrics.LatencyHistogram;
+import com.traffic.metrics.MetricsServer;
+import com.traffic.metrics.SimulationMetrics;
 import javafx.animation.PauseTransition;
-import javafx.animation.Timeline;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.scene.Scene;
@@ -20,10 +35,13 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
 public class TrafficSimulator extends Application {
 
@@ -34,10 +52,38 @@ public class TrafficSimulator extends Application {
     private static final int LIGHT_SIZE = 10;
     private static final int ROAD_LENGTH = 300;
 
-    private static final String LANE_A_FILE = "lanea.txt";
-    private static final String LANE_B_FILE = "laneb.txt";
-    private static final String LANE_C_FILE = "lanec.txt";
-    private static final String LANE_D_FILE = "laned.txt";
+    // CSV lane files by default, -Dtraffic.lane.format=mapped for the binary ring
+    private static final LaneFiles.Format LANE_FORMAT = LaneFiles.format();
+
+    // Upper bound on pickup delay when the WatchService misses or is unavailable
+    private static final long FILE_POLL_FALLBACK_MS = 100;
+
+    // Writes into a mapping raise no file events, so the mapped log is simply polled (no syscall)
+    private static final long MAPPED_POLL_MS = 5;
+
+    // Most vehicles applied per FX pulse between cycles, so a burst never stalls rendering
+    private static final int DRAIN_BATCH = 256;
+
+    // Reader back-off while the handoff is full (the FX thread is never made to wait)
+    private static final long HANDOFF_FULL_BACKOFF_NS = 1_000_000;
+
+    // Reproducible runs: -Dtraffic.seed=N seeds the visuals, -Dtraffic.lane.fromStart=true reads the
+    // lane files from the beginning instead of the current end, -Dtraffic.journal=run.trj records
+    // every arrival and scheduler decision for JournalReplayer
+    private static final long SEED = Long.getLong("traffic.seed", System.nanoTime());
+    private static final boolean READ_FROM_START = Boolean.getBoolean("traffic.lane.fromStart");
+    private static final String JOURNAL = System.getProperty("traffic.journal");
+
+    // -Dtraffic.gui.workers=true moves the light cycle off the FX thread: a junction controller worker
+    // ingests and picks the green, a RoadReleaseWorker per road releases that road's cars, and the FX
+    // thread only applies the coalesced frames
+    private static final boolean RELEASE_WORKERS = Boolean.getBoolean("traffic.gui.workers");
+
+    // How long stop() waits for a worker to leave before giving up on it
+    private static final long STOP_JOIN_MS = 1000;
+
+    // -Dtraffic.metrics.port=N serves Prometheus metrics on 127.0.0.1:N/metrics (0 = any free port)
+    private static final Integer METRICS_PORT = Integer.getInteger("traffic.metrics.port");
 
     private Pane root;
     private final Pane simulationPane = new Pane();
@@ -45,20 +91,37 @@ public class TrafficSimulator extends Application {
     private double centerX, centerY;
 
     private Circle lightA, lightB, lightC, lightD;
-    private TrafficLight trafficLightA, trafficLightB, trafficLightC, trafficLightD;
+    private final TrafficLight[] trafficLights = new TrafficLight[Roads.COUNT]; // indexed like Roads.IDS
 
+    private SimulationEngine engine;
+    private JournalRecorder journal;
+    private MetricsServer metricsServer;
+    private long startedAt;
     private Lane laneA, laneB, laneC, laneD;
-    private LaneEntry laneEntryA, laneEntryB, laneEntryC, laneEntryD;
-    private TrafficScheduler trafficScheduler;
 
     private Text countA, countB, countC, countD, fileStatusText, debugText;
 
-    private TrafficGenerator trafficGenerator;
+    private VehicleRenderer trafficGenerator;
+
+    // Model changes are applied to the scene once per pulse instead of one runLater each
+    private final FrameBatcher frames = new FrameBatcher(this::applyFrame, now -> trafficGenerator.renderFrame(now));
 
-    private final Map<String, Long> lastReadPosition = new HashMap<>();
-    private Timeline filePollingTimeline;
+    // One open reader per lane file, each owned by its own reader thread; parsed vehicles reach the
+    // FX thread through the lock-free handoff and are applied in batches
+    private final LaneReader[] laneReaders = new LaneReader[Roads.COUNT];
+    private final Thread[] readerThreads = new Thread[Roads.COUNT];
+    private Thread watcherThread;
+    private volatile Thread controllerThread;
+    private final RoadReleaseWorker[] releaseWorkers = new RoadReleaseWorker[Roads.COUNT];
+    private final VehicleHandoff handoff = new VehicleHandoff(
+            Integer.getInteger("traffic.handoff.capacity", VehicleHandoff.DEFAULT_CAPACITY));
+    private final VehicleHandoff.Consumer handoffConsumer = this::onHandoff;
+    private final AtomicBoolean drainPending = new AtomicBoolean(false);
 
-    private boolean simulationRunning = false;
+    // File write (generator timestamp) to enqueue, ms, per road
+    private final LatencyHistogram[] ingestLatency = new LatencyHistogram[Roads.COUNT];
+
+    private volatile boolean simulationRunning = false;
     private boolean isProcessingCycle = false;
 
     public static void main(String[] args) {
@@ -68,17 +131,15 @@ public class TrafficSimulator extends Application {
     @Override
     public void start(Stage stage) {
 
-        laneA = new Lane("A");
-        laneB = new Lane("B");
-        laneC = new Lane("C");
-        laneD = new Lane("D");
-
-        laneEntryA = new LaneEntry("A", 0);
-        laneEntryB = new LaneEntry("B", 0);
-        laneEntryC = new LaneEntry("C", 0);
-        laneEntryD = new LaneEntry("D", 0);
-
-        trafficScheduler = new TrafficScheduler(Arrays.asList(laneEntryA, laneEntryB, laneEntryC, laneEntryD));
+        // Scheduling and queues live in the headless engine, this class is only the front end
+        // release workers dequeue while the controller enqueues, so their lanes must be concurrent
+        engine = RELEASE_WORKERS ? new SimulationEngine(SpscVehicleQueue::new) : new SimulationEngine();
+        engine.setPhaseController(PhaseController.fromProperty());
+        engine.setSchedulingPolicy(SchedulingPolicy.fromProperty());
+        laneA = engine.getLane("A");
+        laneB = engine.getLane("B");
+        laneC = engine.getLane("C");
+        laneD = engine.getLane("D");
 
         root = new Pane();
         root.setPrefSize(WINDOW_WIDTH, WINDOW_HEIGHT);
@@ -86,7 +147,42 @@ public class TrafficSimulator extends Application {
         centerX = WINDOW_WIDTH / 2.0;
         centerY = WINDOW_HEIGHT / 2.0;
 
-        trafficGenerator = new TrafficGenerator(laneA, laneB, laneC, laneD, simulationPane, centerX, centerY);
+        // -Dtraffic.renderer=canvas draws all cars on one Canvas instead of one node each
+        trafficGenerator = VehicleRenderer.create(simulationPane, centerX, centerY, SEED);
+
+        SimulationListener ui = new SimulationListener() {
+            @Override
+            public void onPhaseChange(String roadId, LightState state, long time) {
+                frames.light(Roads.indexOf(roadId), state);
+            }
+
+            @Override
+            public void onVehicleReleased(String roadId, int laneNumber, long vehicleId, long time) {
+                frames.release(Roads.indexOf(roadId), laneNumber, 1);
+                EventLog.vehicle(LogLevel.DEBUG, "vehicle.released", roadId, vehicleId, "lane", laneNumber);
+            }
+        };
+        SimulationListener listener = ui;
+        if (METRICS_PORT != null) {
+            SimulationMetrics metrics = new SimulationMetrics(engine);
+            metrics.setLaneReaders(laneReaders);
+            try {
+                metricsServer = new MetricsServer(metrics, METRICS_PORT);
+                listener = SimulationListener.both(listener, metrics);
+                System.out.println("Metrics on http://127.0.0.1:" + metricsServer.getPort() + "/metrics");
+            } catch (IOException e) {
+                System.err.println("Cannot start metrics server on port " + METRICS_PORT + ": " + e.getMessage());
+            }
+        }
+        if (JOURNAL != null) {
+            try {
+                journal = new JournalRecorder(Paths.get(JOURNAL));
+                listener = SimulationListener.both(listener, journal);
+            } catch (IOException e) {
+                System.err.println("Cannot record journal " + JOURNAL + ": " + e.getMessage());
+            }
+        }
+        engine.setListener(listener);
 
         buildJunctionUI();
 
@@ -119,100 +215,198 @@ public class TrafficSimulator extends Application {
             simulationRunning = true;
             startButton.setDisable(true);
 
-            // Read from current end
-            resetFilePositionsToEnd();
+            // Read from current end, or from the start for a reproducible run
+            openLaneReaders();
+            startedAt = System.currentTimeMillis();
 
-            startFilePolling();
+            startLaneReaders();
 
-            // Start chained traffic loop
-            startSimulationLoop();
+            // Start chained traffic loop, or the controller and road release workers
+            if (RELEASE_WORKERS) {
+                startReleaseWorkers();
+            } else {
+                startSimulationLoop();
+            }
 
             updateFileStatus("Running...", Color.GREEN);
         });
 
+        frames.start();
+
         stage.setTitle("Traffic Simulator");
         stage.setScene(new Scene(root, WINDOW_WIDTH, WINDOW_HEIGHT));
         stage.show();
     }
 
-    private boolean checkGeneratorFiles() {
-        return new File(LANE_A_FILE).exists()
-                && new File(LANE_B_FILE).exists()
-                && new File(LANE_C_FILE).exists()
-                && new File(LANE_D_FILE).exists();
+    @Override
+    public void stop() {
+        simulationRunning = false;
+        frames.stop();
+        // nothing touches the engine or the journal once the controller and release workers are gone
+        join(controllerThread);
+        for (RoadReleaseWorker worker : releaseWorkers) {
+            if (worker != null) join(worker.getThread());
+        }
+        if (metricsServer != null) metricsServer.close();
+        stopLaneReaders();
+        if (startedAt != 0) printLatencies();
+        if (journal == null) return;
+        try {
+            journal.close();
+            System.out.println("Journal " + journal.getFile() + ": " + journal.getArrivals() + " arrivals, "
+                    + journal.getDecisions() + " decisions");
+        } catch (IOException e) {
+            System.err.println("Cannot close journal " + journal.getFile() + ": " + e.getMessage());
+        }
     }
 
-    private void resetFilePositionsToEnd() {
-        for (String f : Arrays.asList(LANE_A_FILE, LANE_B_FILE, LANE_C_FILE, LANE_D_FILE)) {
-            File file = new File(f);
-            lastReadPosition.put(f, file.exists() ? file.length() : 0L);
+    // A reader is closed only after its thread has left poll(); a closed mapped reader must not be read
+    private void stopLaneReaders() {
+        join(watcherThread);
+        for (int i = 0; i < Roads.COUNT; i++) {
+            Thread thread = readerThreads[i];
+            join(thread);
+            if (laneReaders[i] == null || (thread != null && thread.isAlive())) continue;
+            try {
+                laneReaders[i].close();
+            } catch (IOException e) {
+                System.err.println("Cannot close lane reader " + Roads.idOf(i) + ": " + e.getMessage());
+            }
         }
     }
 
-    private void startFilePolling() {
-        if (filePollingTimeline != null) filePollingTimeline.stop();
-
-        filePollingTimeline = new Timeline(new KeyFrame(Duration.millis(800), e -> {
-            if (simulationRunning) readNewVehicles();
-        }));
-        filePollingTimeline.setCycleCount(Timeline.INDEFINITE);
-        filePollingTimeline.play();
+    private static void join(Thread thread) {
+        if (thread == null) return;
+        thread.interrupt();
+        try {
+            thread.join(STOP_JOIN_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
-    private void readNewVehicles() {
-        int read = 0;
-        read += readVehicles(LANE_A_FILE, laneA, "A");
-        read += readVehicles(LANE_B_FILE, laneB, "B");
-        read += readVehicles(LANE_C_FILE, laneC, "C");
-        read += readVehicles(LANE_D_FILE, laneD, "D");
-        if (read > 0) updateCount();
+    private boolean checkGeneratorFiles() {
+        for (String road : Roads.IDS) {
+            if (!Files.exists(LaneFiles.path(road, LANE_FORMAT))) return false;
+        }
+        return true;
     }
 
-    private int readVehicles(String filename, Lane lane, String roadId) {
-        File file = new File(filename);
-        if (!file.exists()) return 0;
-
-        int count = 0;
-        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
-            long len = raf.length();
-            long last = lastReadPosition.getOrDefault(filename, 0L);
-            if (last > len) last = 0L;
-            if (last == len) return 0;
+    private void openLaneReaders() {
+        for (int i = 0; i < Roads.COUNT; i++) {
+            laneReaders[i] = LaneFiles.openReader(Roads.idOf(i), LANE_FORMAT);
+            ingestLatency[i] = new LatencyHistogram();
+            if (READ_FROM_START) continue;
+            try {
+                laneReaders[i].seekToEnd();
+            } catch (IOException ignored) {
+            }
+        }
+    }
 
-            raf.seek(last);
+    // One worker per lane file (a virtual thread where the JDK has them): poll, push into the handoff,
+    // nudge the FX thread, park until the next write. The FX thread only sees coalesced drains
+    private void startLaneReaders() {
+        for (int i = 0; i < Roads.COUNT; i++) {
+            int roadIndex = i;
+            LaneReader reader = laneReaders[i];
+            Thread thread = Workers.factory("lane-reader-" + Roads.idOf(i)).newThread(() -> {
+                try {
+                    while (simulationRunning) {
+                        int read = 0;
+                        try {
+                            read = reader.poll((vehicleId, lane, time) -> handOff(roadIndex, lane, vehicleId, time));
+                        } catch (IOException ignored) {
+                        }
+                        if (read > 0) {
+                            requestDrain();
+                        } else if (LANE_FORMAT == LaneFiles.Format.MAPPED) {
+                            Thread.sleep(MAPPED_POLL_MS);
+                        } else {
+                            // unparked by the lane watcher when this file changes
+                            LockSupport.parkNanos(FILE_POLL_FALLBACK_MS * 1_000_000);
+                        }
+                    }
+                } catch (InterruptedException ignored) {
+                }
+            });
+            readerThreads[i] = thread;
+            thread.start();
+        }
+        if (LANE_FORMAT != LaneFiles.Format.MAPPED) startLaneWatcher();
+    }
 
-            String line;
-            while ((line = raf.readLine()) != null) {
-                if (processLine(line, lane, roadId)) count++;
+    // One WatchService for the directory; a change wakes only the reader of that file, an overflow
+    // wakes all four. Without a WatchService the readers just wake on their fallback timeout
+    private void startLaneWatcher() {
+        Path[] files = new Path[Roads.COUNT];
+        for (int i = 0; i < Roads.COUNT; i++) files[i] = LaneFiles.path(Roads.idOf(i), LANE_FORMAT).getFileName();
+
+        watcherThread = Workers.factory("lane-watcher").newThread(() -> {
+            try (LaneFileWatcher watcher = new LaneFileWatcher(Paths.get("."))) {
+                if (!watcher.isWatching()) return;
+                while (simulationRunning) {
+                    watcher.await(FILE_POLL_FALLBACK_MS, changed -> {
+                        for (int i = 0; i < Roads.COUNT; i++) {
+                            if (changed == null || changed.equals(files[i])) LockSupport.unpark(readerThreads[i]);
+                        }
+                    });
+                }
+            } catch (InterruptedException ignored) {
             }
+        });
+        watcherThread.start();
+    }
 
-            lastReadPosition.put(filename, raf.getFilePointer());
-        } catch (IOException ignored) {
+    // Reader thread. The record is already consumed from the file, so a full handoff is waited out here
+    private void handOff(int roadIndex, int lane, long vehicleId, long time) {
+        while (!handoff.offer(roadIndex, lane, vehicleId, time)) {
+            if (!simulationRunning) return;
+            requestDrain();
+            LockSupport.parkNanos(HANDOFF_FULL_BACKOFF_NS);
         }
-        return count;
     }
 
-    private boolean processLine(String line, Lane lane, String roadId) {
-        try {
-            String[] parts = line.split(",");
-            if (parts.length < 2) return false;
+    // At most one pending drain on the FX queue however many readers signal; in workers mode the
+    // controller drains, so it is just woken up
+    private void requestDrain() {
+        if (RELEASE_WORKERS) {
+            LockSupport.unpark(controllerThread);
+            return;
+        }
+        if (drainPending.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                drainPending.set(false);
+                if (simulationRunning && drainHandoff(DRAIN_BATCH) == DRAIN_BATCH) requestDrain();
+            });
+        }
+    }
 
-            String vehicleId = parts[0].trim();
-            int laneNumber = Integer.parseInt(parts[1].trim());
+    // Handoff consumer only: the FX thread, or the junction controller in workers mode
+    private int drainHandoff(int max) {
+        int drained = handoff.drain(handoffConsumer, max);
+        if (drained > 0) updateCount();
+        return drained;
+    }
 
-            //lane1 are never sources allow only 2 or 3
-            if (laneNumber != 2 && laneNumber != 3) return false;
+    private void onHandoff(int roadIndex, int lane, long vehicleId, long time) {
+        if (acceptVehicle(Roads.idOf(roadIndex), vehicleId, lane)) {
+            ingestLatency[roadIndex].record(System.currentTimeMillis() - time);
+        }
+    }
 
-            // source should match "A2" prefix
-            if (!vehicleId.startsWith(roadId + laneNumber)) return false;
+    private boolean acceptVehicle(String roadId, long vehicleId, int laneNumber) {
+        //lane1 are never sources allow only 2 or 3
+        if (laneNumber != 2 && laneNumber != 3) return false;
 
-            lane.enqueueToLane(laneNumber, vehicleId);
-            trafficGenerator.addWaitingCar(roadId, laneNumber, vehicleId);
-            return true;
+        // source should match "A2" prefix
+        if (VehicleId.srcRoad(vehicleId) != Roads.indexOf(roadId)
+                || VehicleId.srcLane(vehicleId) != laneNumber) return false;
 
-        } catch (Exception e) {
-            return false;
-        }
+        advanceClock();
+        engine.enqueue(roadId, laneNumber, vehicleId);
+        frames.arrival(Roads.indexOf(roadId), laneNumber, vehicleId);
+        return true;
     }
 
     //Simulator
@@ -226,75 +420,39 @@ public class TrafficSimulator extends Application {
         isProcessingCycle = true;
 
         try {
-            //  Calculate BOTH priority and non-priority for ALL roads
-            //Priority Size - Lane2 , LeftTurnSize -Lane 3
-
-            int aPriority = laneA.prioritySize();
-            int aNonPriority = laneA.leftTurnSize();
-
-            int bPriority = laneB.prioritySize();
-            int bNonPriority = laneB.leftTurnSize();
-
-            int cPriority = laneC.prioritySize();
-            int cNonPriority = laneC.leftTurnSize();
-
-            int dPriority = laneD.prioritySize();
-            int dNonPriority = laneD.leftTurnSize();
-
-            trafficScheduler.CheckandUpdatePriority(laneEntryA, aNonPriority, aPriority);
-            trafficScheduler.CheckandUpdatePriority(laneEntryB, bNonPriority, bPriority);
-            trafficScheduler.CheckandUpdatePriority(laneEntryC, cNonPriority, cPriority);
-            trafficScheduler.CheckandUpdatePriority(laneEntryD, dNonPriority, dPriority);
+            // everything the readers handed off so far takes part in this decision
+            drainHandoff(handoff.capacity());
 
-            // rely on scheduler rotation
-            String nextRoad = trafficScheduler.serverAndRotateLane();
+            // engine updates the scheduler for all roads and relies on its rotation
+            advanceClock();
+            String nextRoad = engine.selectRoad();
 
-            // Debug output
-            System.out.println(" Cycle Start - Selected Road: " + nextRoad);
-            System.out.println("   A: L2=" + aPriority + " L3=" + aNonPriority);
-            System.out.println("   B: L2=" + bPriority + " L3=" + bNonPriority);
-            System.out.println("   C: L2=" + cPriority + " L3=" + cNonPriority);
-            System.out.println("   D: L2=" + dPriority + " L3=" + dNonPriority);
+            logCycleStart(nextRoad);
 
             // set all lights red
-            trafficLightA.setState(TrafficLight.State.RED);
-            trafficLightB.setState(TrafficLight.State.RED);
-            trafficLightC.setState(TrafficLight.State.RED);
-            trafficLightD.setState(TrafficLight.State.RED);
-
-            TrafficLight selected = getLight(nextRoad);
-            selected.setState(TrafficLight.State.GREEN);
+            for (String road : Arrays.asList("A", "B", "C", "D")) {
+                engine.setPhase(road, LightState.RED);
+            }
 
             //  debug display
             updateDebugText("Current Green: " + nextRoad);
 
-            // release ONLY lanes 2 and 3
-            Lane laneObj = getLane(nextRoad);
-            int released = 0;
-
-            if (laneObj.prioritySize() > 0) {
-                trafficGenerator.releaseWaitingCars(nextRoad, 2, 1);
-                released++;
-                System.out.println("   Released 1 car from " + nextRoad + " L2");
-            }
-
-            if (laneObj.leftTurnSize() > 0) {
-                trafficGenerator.releaseWaitingCars(nextRoad, 3, 1);
-                released++;
-                System.out.println("   Released 1 car from " + nextRoad + " L3");
-            }
+            // green for as long as the phase controller decides; releases ONLY lanes 2 and 3,
+            // the listener animates each released car
+            long releasedBefore = engine.getReleased();
+            long greenMs = engine.startGreen(nextRoad);
 
-            if (released == 0) {
-                System.out.println("   No cars to release from " + nextRoad);
+            if (engine.getReleased() == releasedBefore) {
+                EventLog.log(LogLevel.DEBUG, "cycle.idle", nextRoad);
             }
 
-            PauseTransition green = new PauseTransition(Duration.seconds(4));
+            PauseTransition green = new PauseTransition(Duration.millis(greenMs));
             green.setOnFinished(e -> {
-                selected.setState(TrafficLight.State.YELLOW);
+                engine.setPhase(nextRoad, LightState.YELLOW);
 
-                PauseTransition yellow = new PauseTransition(Duration.seconds(1.5));
+                PauseTransition yellow = new PauseTransition(Duration.millis(SimulationEngine.YELLOW_MS));
                 yellow.setOnFinished(ev -> {
-                    selected.setState(TrafficLight.State.RED);
+                    engine.setPhase(nextRoad, LightState.RED);
                     isProcessingCycle = false;
 
                     // Update counts
@@ -319,46 +477,130 @@ public class TrafficSimulator extends Application {
         }
     }
 
-    private TrafficLight getLight(String road) {
-        switch (road) {
-            case "A": return trafficLightA;
-            case "B": return trafficLightB;
-            case "C": return trafficLightC;
-            case "D": return trafficLightD;
-            default: return trafficLightA;
+    // Debug output, Priority Size - Lane2 , LeftTurnSize -Lane 3
+    private void logCycleStart(String nextRoad) {
+        if (!EventLog.isEnabled(LogLevel.DEBUG)) return;
+        EventLog.log(LogLevel.DEBUG, "cycle.start", nextRoad);
+        for (Lane lane : Arrays.asList(laneA, laneB, laneC, laneD)) {
+            EventLog.log(LogLevel.DEBUG, "cycle.queue", lane.getRoadId(),
+                    "l2", lane.prioritySize(), "l3", lane.leftTurnSize());
         }
     }
 
-    private Lane getLane(String road) {
-        switch (road) {
-            case "A": return laneA;
-            case "B": return laneB;
-            case "C": return laneC;
-            case "D": return laneD;
-            default: return laneA;
+    // Workers mode: the junction controller is the handoff's consumer and the only producer of every
+    // lane; the road that gets the green is released by its own worker while arrivals keep coming in
+    private void startReleaseWorkers() {
+        for (int i = 0; i < Roads.COUNT; i++) {
+            releaseWorkers[i] = new RoadReleaseWorker(engine, i);
+            releaseWorkers[i].start();
         }
+        Thread controller = Workers.factory("junction-controller").newThread(() -> {
+            try {
+                while (simulationRunning) runWorkerCycle();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        controllerThread = controller;
+        controller.start();
     }
 
-    private void updateCount() {
-        Platform.runLater(() -> {
+    // Controller thread: the same cycle as runTrafficCycleChained, blocking instead of chaining transitions
+    private void runWorkerCycle() throws InterruptedException {
+        drainHandoff(handoff.capacity());
+        advanceClock();
+        String nextRoad = engine.selectRoad();
+        logCycleStart(nextRoad);
+
+        for (String road : Roads.IDS) {
+            engine.setPhase(road, LightState.RED);
+        }
+        updateDebugText("Current Green: " + nextRoad);
+
+        Lane lane = engine.getLane(nextRoad);
+        long greenMs = engine.getPhaseController().greenMs(lane);
+        int budget = engine.getPhaseController().releaseBudget(lane, greenMs);
+        RoadReleaseWorker worker = releaseWorkers[Roads.indexOf(nextRoad)];
+
+        engine.setPhase(nextRoad, LightState.GREEN);
+        worker.grant(budget, greenMs);
+        ingestFor(greenMs);
+        worker.awaitFinished();
+
+        engine.setPhase(nextRoad, LightState.YELLOW);
+        ingestFor(SimulationEngine.YELLOW_MS);
+        engine.setPhase(nextRoad, LightState.RED);
+        updateCount();
+    }
+
+    // Controller thread: keeps enqueueing arrivals for ms; readers unpark it when they hand something off
+    private void ingestFor(long ms) {
+        long until = System.nanoTime() + ms * 1_000_000;
+        long left;
+        while (simulationRunning && (left = until - System.nanoTime()) > 0) {
+            if (drainHandoff(DRAIN_BATCH) == 0) LockSupport.parkNanos(left);
+        }
+    }
+
+    private void printLatencies() {
+        System.out.println("Latency (ms):");
+        for (int i = 0; i < Roads.COUNT; i++) {
+            String road = Roads.idOf(i);
+            System.out.println("  " + road + " ingest " + ingestLatency[i].summary());
+            for (int lane = 2; lane <= 3; lane++) {
+                System.out.println("  " + road + lane + " wait   " + engine.getWaitHistogram(road, lane).summary());
+            }
+        }
+        if (handoff.getRejected() > 0) System.out.println("Handoff full " + handoff.getRejected() + " times");
+        System.out.println("Frames " + frames.getFrames() + ", " + frames.getOps() + " vehicle ops, at most "
+                + frames.getMaxOpsPerFrame() + " in one frame");
+        System.out.println("Renderer " + trafficGenerator);
+    }
+
+    // Engine time is ms since Start, so recorded journals carry real timing
+    private void advanceClock() {
+        engine.advanceTo(System.currentTimeMillis() - startedAt);
+    }
+
+    // Frame timer: one batch of scene changes per pulse, in the order the model made them
+    private void applyFrame(RenderDelta frame) {
+        for (int i = 0; i < frame.size(); i++) {
+            String road = Roads.idOf(frame.roadIndex(i));
+            if (frame.kind(i) == RenderDelta.ARRIVAL) {
+                trafficGenerator.addWaitingCar(road, frame.lane(i), frame.value(i));
+            } else {
+                trafficGenerator.releaseWaitingCars(road, frame.lane(i), (int) frame.value(i));
+            }
+        }
+        trafficGenerator.layoutDirtyLanes();
+
+        for (int i = 0; i < Roads.COUNT; i++) {
+            if (frame.light(i) != null) trafficLights[i].setState(frame.light(i));
+        }
+        if (frame.isCountsDirty()) {
             countA.setText("A L2:" + laneA.prioritySize() + " L3:" + laneA.leftTurnSize());
             countB.setText("B L2:" + laneB.prioritySize() + " L3:" + laneB.leftTurnSize());
             countC.setText("C L2:" + laneC.prioritySize() + " L3:" + laneC.leftTurnSize());
             countD.setText("D L2:" + laneD.prioritySize() + " L3:" + laneD.leftTurnSize());
-        });
+        }
+        if (frame.getDebugText() != null) debugText.setText(frame.getDebugText());
+        if (frame.getStatusText() != null) {
+            fileStatusText.setText(frame.getStatusText());
+            fileStatusText.setFill(frame.getStatusColor());
+        }
+    }
+
+    private void updateCount() {
+        frames.countsChanged();
     }
 
 
     //Fixed File Reading
     private void updateFileStatus(String msg, Color c) {
-        Platform.runLater(() -> {
-            fileStatusText.setText(msg);
-            fileStatusText.setFill(c);
-        });
+        frames.status(msg, c);
     }
 
     private void updateDebugText(String msg) {
-        Platform.runLater(() -> debugText.setText(msg));
+        frames.debug(msg);
     }
 
     //For UI
@@ -392,10 +634,10 @@ public class TrafficSimulator extends Application {
 
         root.getChildren().addAll(lightA, lightB, lightC, lightD);
 
-        trafficLightA = new TrafficLight(lightA);
-        trafficLightB = new TrafficLight(lightB);
-        trafficLightC = new TrafficLight(lightC);
-        trafficLightD = new TrafficLight(lightD);
+        trafficLights[0] = new TrafficLight(lightA);
+        trafficLights[1] = new TrafficLight(lightB);
+        trafficLights[2] = new TrafficLight(lightC);
+        trafficLights[3] = new TrafficLight(lightD);
 
         countA = new Text(centerX - 120, centerY - JUNCTION_SIZE / 2 - ROAD_LENGTH + 25, "A L2:0 L3:0");
         countB = new Text(centerX - 120, centerY + JUNCTION_SIZE / 2 + ROAD_LENGTH - 5, "B L2:0 L3:0");
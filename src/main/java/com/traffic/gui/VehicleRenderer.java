@@ -0,0 +1,33 @@
+package com.traffic.gui;
+
+import javafx.scene.layout.Pane;
+
+// Draws the queued and released cars. Called on the FX thread by the frame timer: the ops of one
+// RenderDelta in order, then layoutDirtyLanes(), then renderFrame() on every pulse.
+// -Dtraffic.renderer=canvas draws every car on one Canvas, the default is one node per car.
+public interface VehicleRenderer {
+
+    String PROPERTY = "traffic.renderer";
+
+    // Time a released car takes to cross the junction (matches DiscreteEventSimulator.CROSSING_MS)
+    double CROSSING_SECONDS = 3.5;
+
+    void addWaitingCar(String roadId, int laneNumber, long vehicleId);
+
+    void releaseWaitingCars(String roadId, int laneNumber, int count);
+
+    void layoutDirtyLanes();
+
+    // Once per pulse, after the frame's ops; now is the AnimationTimer timestamp (ns)
+    default void renderFrame(long now) {
+    }
+
+    static VehicleRenderer create(Pane pane, double centerX, double centerY, long seed) {
+        String name = System.getProperty(PROPERTY, "nodes");
+        switch (name) {
+            case "nodes": return new TrafficGenerator(pane, centerX, centerY, seed);
+            case "canvas": return new CanvasVehicleRenderer(pane, centerX, centerY, seed);
+            default: throw new IllegalArgumentException("Unknown renderer: " + name + " (nodes or canvas)");
+        }
+    }
+}
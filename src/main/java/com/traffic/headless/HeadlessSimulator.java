@@ -0,0 +1,79 @@
+package com.traffic.headless;
+
+import com.traffic.core.DiscreteEventSimulator;
+import com.traffic.core.PhaseController;
+import com.traffic.core.Roads;
+import com.traffic.core.SchedulingPolicy;
+import com.traffic.core.SimulationEngine;
+import com.traffic.generator.ArrivalProfile;
+import com.traffic.generator.PatternArrivals;
+import com.traffic.generator.PoissonArrivals;
+import com.traffic.generator.TrafficPattern;
+import com.traffic.journal.JournalRecorder;
+import com.traffic.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Random;
+
+// Runs the junction without a display: arrivals, light phases and departures are events on
+// a virtual clock (DiscreteEventSimulator), so a simulated day finishes in seconds.
+// Usage: HeadlessSimulator [hours] [seed] [profile]
+//   profile as for TrafficGeneratorProcess --profile (e.g. constant:2.5), default is the classic pattern
+//   -Dtraffic.scheduler=priority|longest-queue|max-pressure|round-robin|oldest-waiting picks the policy
+//   -Dtraffic.phase=fixed|adaptive[:MIN:MAX:HEADWAY] picks the green-phase controller
+//   -Dtraffic.journal=run.trj records arrivals and decisions for ReplayRunner
+public class HeadlessSimulator {
+
+    public static void main(String[] args) throws IOException {
+        long hours = args.length > 0 ? Long.parseLong(args[0]) : 24;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+
+        SimulationEngine engine = new SimulationEngine();
+        engine.setPhaseController(PhaseController.fromProperty());
+        engine.setSchedulingPolicy(SchedulingPolicy.fromProperty());
+        String journalFile = System.getProperty("traffic.journal");
+        JournalRecorder journal = journalFile == null ? null : new JournalRecorder(Paths.get(journalFile));
+        if (journal != null) engine.setListener(journal);
+
+        DiscreteEventSimulator sim = new DiscreteEventSimulator(engine);
+        if (args.length > 2) {
+            sim.addSource(new PoissonArrivals(ArrivalProfile.parse(args[2]), seed), 0);
+        } else {
+            TrafficPattern pattern = new TrafficPattern(new Random(seed), TrafficPattern.DEFAULT_EXTRA_CAR_PROB);
+            sim.addSource(new PatternArrivals(pattern), 0);
+        }
+
+        long horizon = hours * 3_600_000L;
+
+        long started = System.nanoTime();
+        sim.runUntil(horizon);
+        long elapsedNs = Math.max(1, System.nanoTime() - started);
+        if (journal != null) journal.close();
+
+        System.out.println("Simulated " + hours + "h (seed " + seed + ", scheduler " + engine.getSchedulingPolicy()
+                + ", phase " + engine.getPhaseController() + ") in " + (elapsedNs / 1_000_000) + " ms");
+        System.out.println("  events   : " + sim.getProcessed()
+                + " (" + (sim.getProcessed() * 1_000_000_000L / elapsedNs) + "/s)");
+        System.out.println("  cycles   : " + engine.getCycles());
+        System.out.println("  arrived  : " + engine.getArrived());
+        System.out.println("  released : " + engine.getReleased()
+                + " (" + Math.round(engine.getThroughputPerHour()) + " vehicles/h)");
+        System.out.println("  departed : " + sim.getDeparted());
+        System.out.println("  waiting  : " + engine.getWaiting());
+        System.out.println("  wait (ms) from enqueue to release:");
+        LatencyHistogram all = new LatencyHistogram();
+        for (String road : Roads.IDS) {
+            for (int lane = 2; lane <= 3; lane++) {
+                LatencyHistogram h = engine.getWaitHistogram(road, lane);
+                System.out.println("    " + road + lane + "  " + h.summary());
+                all.add(h);
+            }
+        }
+        System.out.println("    all " + all.summary());
+        if (journal != null) {
+            System.out.println("  journal  : " + journal.getFile() + " (" + journal.getArrivals() + " arrivals, "
+                    + journal.getDecisions() + " decisions)");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.traffic.headless;
+
+import com.traffic.core.JunctionWorkerExecutor;
+import com.traffic.core.ParallelTickExecutor;
+import com.traffic.core.RoadNetwork;
+import com.traffic.core.Workers;
+import com.traffic.log.EventLog;
+import com.traffic.log.LogLevel;
+
+// Runs a rows x cols grid of junctions (RoadNetwork) on a virtual clock and reports how much
+// faster than real time it went. Junctions are stepped on `threads` fork/join workers (1 = serial),
+// or with `workers` on one blocking worker per junction (virtual threads where available);
+// the result does not depend on the mode or thread count.
+// Usage: NetworkSimulator [rows] [cols] [hours] [seed] [inflowProb] [threads|workers]
+public class NetworkSimulator {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int cols = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        long hours = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        double inflow = args.length > 4 ? Double.parseDouble(args[4]) : 0.3;
+        boolean perJunction = args.length > 5 && "workers".equals(args[5]);
+        int threads = args.length > 5 && !perJunction ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+
+        // thousands of schedulers flip priority mode all the time; keep INFO off unless asked for
+        if (System.getProperty("traffic.log.level") == null) EventLog.setLevel(LogLevel.WARN);
+
+        RoadNetwork network = new RoadNetwork(rows, cols, inflow, seed);
+        long ticks = hours * 3_600_000L / RoadNetwork.TICK_MS;
+
+        long started = System.nanoTime();
+        String mode;
+        if (perJunction) {
+            mode = network.getJunctionCount() + " " + Workers.describe() + " junction workers";
+            try (JunctionWorkerExecutor executor = new JunctionWorkerExecutor(network)) {
+                executor.runTicks(ticks);
+            }
+        } else if (threads <= 1) {
+            mode = "1 thread";
+            network.runTicks(ticks);
+        } else {
+            mode = threads + " threads";
+            try (ParallelTickExecutor executor = new ParallelTickExecutor(network, threads)) {
+                executor.runTicks(ticks);
+            }
+        }
+        long elapsedNs = Math.max(1, System.nanoTime() - started);
+        long elapsedMs = Math.max(1, elapsedNs / 1_000_000);
+
+        System.out.println("Simulated " + rows + "x" + cols + " junctions for " + hours + "h (seed " + seed
+                + ", " + mode + ") in " + elapsedMs + " ms, " + (network.getClock() / elapsedMs) + "x real time");
+        System.out.println("  ticks       : " + network.getTicks()
+                + " (" + (network.getTicks() * network.getJunctionCount() * 1_000_000_000L / elapsedNs) + " junction steps/s)");
+        System.out.println("  entered     : " + network.getEntered());
+        System.out.println("  released    : " + network.getReleased());
+        System.out.println("  transferred : " + network.getTransferred());
+        System.out.println("  exited      : " + network.getExited());
+        System.out.println("  in network  : " + network.getWaiting());
+    }
+}
@@ -0,0 +1,29 @@
+package com.traffic.headless;
+
+import com.traffic.journal.JournalReplayer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+// Replays a run journal (recorded with -Dtraffic.journal=...) against the current scheduler and
+// checks that every decision comes out the same. Exit code 1 when they differ.
+// Usage: ReplayRunner <journal>
+public class ReplayRunner {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ReplayRunner <journal>");
+            System.exit(2);
+        }
+
+        JournalReplayer.Result result = JournalReplayer.replay(Paths.get(args[0]));
+        long elapsedNs = Math.max(1, result.getElapsedNs());
+
+        System.out.println("Replayed " + args[0] + " in " + (elapsedNs / 1_000_000) + " ms");
+        System.out.println("  arrivals  : " + result.getArrivals());
+        System.out.println("  decisions : " + result.getDecisions()
+                + " (" + (result.getDecisions() * 1_000_000_000L / elapsedNs) + "/s)");
+        System.out.println("  result    : " + result);
+        if (!result.isIdentical()) System.exit(1);
+    }
+}
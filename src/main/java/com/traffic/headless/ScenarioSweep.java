@@ -0,0 +1,166 @@
+package com.traffic.headless;
+
+import com.traffic.core.DiscreteEventSimulator;
+import com.traffic.core.FixedPhaseController;
+import com.traffic.core.Roads;
+import com.traffic.core.SimulationEngine;
+import com.traffic.core.ThresholdPriorityPolicy;
+import com.traffic.core.TrafficScheduler;
+import com.traffic.generator.PatternArrivals;
+import com.traffic.generator.TrafficPattern;
+import com.traffic.log.EventLog;
+import com.traffic.log.LogLevel;
+import com.traffic.metrics.LatencyHistogram;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Runs every combination of a parameter grid as an independent headless simulation on a fixed
+// thread pool and writes one CSV row per run (in grid order, whatever order the runs finish in).
+// The file only appears once every run has finished; a failed run leaves any previous file as it was.
+// Usage: ScenarioSweep [--enter=8,10,12] [--exit=3,5] [--green=3000,4000] [--extra=0.2,0.4]
+//                      [--seeds=1,2,3] [--hours=24] [--threads=N] [--out=sweep.csv]
+// Combinations where exit >= enter are skipped.
+public class ScenarioSweep {
+
+    private static final String HEADER = "run,seed,enterAt,exitAt,greenMs,extraCarProb,cycles,arrived,released,"
+            + "throughputPerHour,waiting,waitP50Ms,waitP90Ms,waitP99Ms,waitP999Ms,waitMaxMs,elapsedMs";
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long[] enter = {TrafficScheduler.DEFAULT_ENTER_PRIORITY_AT};
+        long[] exit = {TrafficScheduler.DEFAULT_EXIT_PRIORITY_AT};
+        long[] green = {SimulationEngine.GREEN_MS};
+        double[] extra = {TrafficPattern.DEFAULT_EXTRA_CAR_PROB};
+        long[] seeds = {42};
+        long hours = 24;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String out = "sweep.csv";
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Unknown argument: " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "enter": enter = longs(value); break;
+                case "exit": exit = longs(value); break;
+                case "green": green = longs(value); break;
+                case "extra": extra = doubles(value); break;
+                case "seeds": seeds = longs(value); break;
+                case "hours": hours = Long.parseLong(value); break;
+                case "threads": threads = Integer.parseInt(value); break;
+                case "out": out = value; break;
+                default: throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+
+        // thousands of runs flip priority mode constantly; keep INFO off unless asked for
+        if (System.getProperty("traffic.log.level") == null) EventLog.setLevel(LogLevel.WARN);
+
+        List<Scenario> scenarios = new ArrayList<>();
+        for (long seed : seeds)
+            for (long en : enter)
+                for (long ex : exit)
+                    for (long g : green)
+                        for (double p : extra)
+                            if (ex < en) scenarios.add(new Scenario(scenarios.size(), seed, (int) en, (int) ex, g, p, hours));
+
+        System.out.println("Sweeping " + scenarios.size() + " scenarios of " + hours + "h on " + threads + " threads -> " + out);
+        long started = System.nanoTime();
+
+        // rows go to a temp file next to the target, moved into place only once every run succeeded,
+        // so a failed sweep never leaves a truncated CSV that looks finished
+        Path target = Paths.get(out).toAbsolutePath();
+        Path partial = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".partial");
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            try (BufferedWriter w = Files.newBufferedWriter(partial)) {
+                List<Future<String>> rows = new ArrayList<>(scenarios.size());
+                for (Scenario s : scenarios) rows.add(pool.submit(s::run));
+
+                w.write(HEADER);
+                w.newLine();
+                for (int i = 0; i < rows.size(); i++) {
+                    w.write(rows.get(i).get());
+                    w.newLine();
+                    if ((i + 1) % 100 == 0) System.out.println("  " + (i + 1) + "/" + rows.size() + " done");
+                }
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scenario failed, " + out + " not written", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            Files.deleteIfExists(partial);
+        }
+
+        System.out.println("Done in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+    }
+
+    private static final class Scenario {
+        final int run;
+        final long seed;
+        final int enterAt;
+        final int exitAt;
+        final long greenMs;
+        final double extraCarProb;
+        final long hours;
+
+        Scenario(int run, long seed, int enterAt, int exitAt, long greenMs, double extraCarProb, long hours) {
+            this.run = run;
+            this.seed = seed;
+            this.enterAt = enterAt;
+            this.exitAt = exitAt;
+            this.greenMs = greenMs;
+            this.extraCarProb = extraCarProb;
+            this.hours = hours;
+        }
+
+        String run() {
+            long started = System.nanoTime();
+            SimulationEngine engine = new SimulationEngine();
+            engine.setSchedulingPolicy(new ThresholdPriorityPolicy(TrafficScheduler.DEFAULT_PRIORITY_ROAD, enterAt, exitAt));
+            engine.setPhaseController(new FixedPhaseController(greenMs));
+
+            DiscreteEventSimulator sim = new DiscreteEventSimulator(engine);
+            sim.addSource(new PatternArrivals(new TrafficPattern(new Random(seed), extraCarProb)), 0);
+            sim.runUntil(hours * 3_600_000L);
+
+            LatencyHistogram wait = new LatencyHistogram();
+            for (String road : Roads.IDS) {
+                for (int lane = 2; lane <= 3; lane++) wait.add(engine.getWaitHistogram(road, lane));
+            }
+
+            return run + "," + seed + "," + enterAt + "," + exitAt + "," + greenMs + "," + extraCarProb
+                    + "," + engine.getCycles() + "," + engine.getArrived() + "," + engine.getReleased()
+                    + "," + Math.round(engine.getThroughputPerHour()) + "," + engine.getWaiting()
+                    + "," + wait.valueAtPercentile(50) + "," + wait.valueAtPercentile(90)
+                    + "," + wait.valueAtPercentile(99) + "," + wait.valueAtPercentile(99.9) + "," + wait.getMax()
+                    + "," + (System.nanoTime() - started) / 1_000_000;
+        }
+    }
+
+    private static long[] longs(String csv) {
+        String[] parts = csv.split(",");
+        long[] values = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) values[i] = Long.parseLong(parts[i].trim());
+        return values;
+    }
+
+    private static double[] doubles(String csv) {
+        String[] parts = csv.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) values[i] = Double.parseDouble(parts[i].trim());
+        return values;
+    }
+}
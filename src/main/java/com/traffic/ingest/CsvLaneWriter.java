@@ -0,0 +1,152 @@
+package com.traffic.ingest;
+
+import com.traffic.core.VehicleId;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Producer side of a CSV lane file: keeps one channel open for the writer's lifetime and formats
+// "id,lane,time" records straight into a batch buffer. A batch is written when it reaches
+// batchRecords or when it is older than flushIntervalMs; fsync follows the SyncPolicy.
+// Methods are synchronized so a shutdown hook can drain while the generator is still writing.
+public class CsvLaneWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD_BYTES = 64;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] digits = new byte[20];
+
+    private final int batchRecords;
+    private final long flushIntervalMs;
+    private final SyncPolicy syncPolicy;
+    private final long syncIntervalMs;
+
+    private int pending;
+    private long oldestPendingAt;
+    private long lastSyncAt;
+    private boolean dirtySinceSync;     // written to the channel but not forced yet
+    private long written;
+    private boolean closed;
+
+    public CsvLaneWriter(Path file, int batchRecords, long flushIntervalMs,
+                         SyncPolicy syncPolicy, long syncIntervalMs) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.batchRecords = Math.max(1, batchRecords);
+        this.flushIntervalMs = flushIntervalMs;
+        this.syncPolicy = syncPolicy;
+        this.syncIntervalMs = syncIntervalMs;
+    }
+
+    // Returns false if the writer is already closed (record not written)
+    public synchronized boolean append(long vehicleId, int lane, long time) throws IOException {
+        if (closed) return false;
+
+        long now = System.currentTimeMillis();
+        if (pending == 0) oldestPendingAt = now;
+        if (batch.remaining() < MAX_RECORD_BYTES) writeBatch(now);
+
+        putVehicleId(vehicleId);
+        batch.put((byte) ',');
+        putLong(lane);
+        batch.put((byte) ',');
+        putLong(time);
+        batch.put((byte) '\n');
+        pending++;
+
+        if (pending >= batchRecords || now - oldestPendingAt >= flushIntervalMs) writeBatch(now);
+        return true;
+    }
+
+    // Writes the pending batch if it has been waiting for at least flushIntervalMs, and forces
+    // written data whose sync interval has passed even when no new batch arrives
+    public synchronized void flushIfDue() throws IOException {
+        if (closed) return;
+        long now = System.currentTimeMillis();
+        if (pending > 0 && now - oldestPendingAt >= flushIntervalMs) writeBatch(now);
+        syncIfDue(now);
+    }
+
+    public synchronized void flush() throws IOException {
+        if (closed) return;
+        writeBatch(System.currentTimeMillis());
+    }
+
+    public synchronized long getWritten() {
+        return written;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // Drains the last batch and syncs it (unless the policy is NONE) before closing
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        try {
+            writeBatch(System.currentTimeMillis());
+            if (syncPolicy != SyncPolicy.NONE) channel.force(false);
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    private void writeBatch(long now) throws IOException {
+        if (batch.position() > 0) {
+            batch.flip();
+            while (batch.hasRemaining()) channel.write(batch);
+            batch.clear();
+            written += pending;
+            pending = 0;
+            dirtySinceSync = true;
+
+            if (syncPolicy == SyncPolicy.PER_BATCH) {
+                channel.force(false);
+                lastSyncAt = now;
+                dirtySinceSync = false;
+            } else {
+                syncIfDue(now);
+            }
+        }
+    }
+
+    private void syncIfDue(long now) throws IOException {
+        if (syncPolicy == SyncPolicy.PER_INTERVAL && dirtySinceSync && now - lastSyncAt >= syncIntervalMs) {
+            channel.force(false);
+            lastSyncAt = now;
+            dirtySinceSync = false;
+        }
+    }
+
+    // "A2B1-10004" without building a String
+    private void putVehicleId(long id) {
+        batch.put((byte) ('A' + VehicleId.srcRoad(id)));
+        batch.put((byte) ('0' + VehicleId.srcLane(id)));
+        batch.put((byte) ('A' + VehicleId.dstRoad(id)));
+        batch.put((byte) ('0' + VehicleId.dstLane(id)));
+        batch.put((byte) '-');
+        putLong(VehicleId.seq(id));
+    }
+
+    private void putLong(long value) {
+        if (value < 0) {
+            batch.put((byte) '-');
+            value = -value;
+        }
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+        while (n > 0) batch.put(digits[--n]);
+    }
+}
@@ -0,0 +1,149 @@
+package com.traffic.ingest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+// Follows one append-only lane file: keeps a single FileChannel open, reads only the appended
+// bytes into a reusable direct buffer and parses complete lines in place.
+// A partial last line stays in the buffer until the rest of it is written.
+// Not thread-safe: poll from one thread only.
+public class LaneFileTailer implements LaneReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // How often to check whether the file was deleted and recreated (the generator clears it on start)
+    private static final long REOPEN_CHECK_MS = 1000;
+
+    private final Path file;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private FileChannel channel;
+    private Object fileKey;
+    private long position;
+    private long lastReopenCheck;
+    private long malformed;
+
+    public LaneFileTailer(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void seekToEnd() throws IOException {
+        buffer.clear();
+        position = ensureOpen() ? channel.size() : 0;
+    }
+
+    public void seekToStart() {
+        buffer.clear();
+        position = 0;
+    }
+
+    // Only complete lines are dispatched
+    @Override
+    public int poll(LaneRecordHandler handler) throws IOException {
+        checkRecreated();
+        if (!ensureOpen()) return 0;
+
+        if (channel.size() < position) {
+            // truncated underneath us, start over
+            position = 0;
+            buffer.clear();
+        }
+
+        int count = 0;
+        while (true) {
+            int n = channel.read(buffer, position);
+            if (n <= 0) break;
+            position += n;
+
+            buffer.flip();
+            count += drainLines(handler);
+            buffer.compact();
+
+            if (!buffer.hasRemaining()) {
+                // a single line larger than the buffer can only be garbage
+                buffer.clear();
+                malformed++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long lagBytes() {
+        try {
+            return Math.max(0, Files.size(file) - position);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public long getPosition() { return position; }
+    public long getMalformed() { return malformed; }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private int drainLines(LaneRecordHandler handler) {
+        int count = 0;
+        int lineStart = buffer.position();
+        int limit = buffer.limit();
+
+        for (int i = lineStart; i < limit; i++) {
+            if (buffer.get(i) != '\n') continue;
+            if (i > lineStart) {
+                if (LaneRecordParser.parse(buffer, lineStart, i, handler)) count++;
+                else malformed++;
+            }
+            lineStart = i + 1;
+        }
+
+        buffer.position(lineStart);
+        return count;
+    }
+
+    private boolean ensureOpen() throws IOException {
+        if (channel != null) return true;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            fileKey = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private void checkRecreated() throws IOException {
+        long now = System.currentTimeMillis();
+        if (channel == null || now - lastReopenCheck < REOPEN_CHECK_MS) return;
+        lastReopenCheck = now;
+
+        Object key;
+        try {
+            key = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            key = null;
+        }
+        if (key == null || !Objects.equals(key, fileKey)) {
+            close();
+            position = 0;
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.traffic.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Blocks until one of the lane files in a directory changes and reports which. Uses the platform
+// WatchService (inotify on Linux) and falls back to plain timed polling if no WatchService is available;
+// await() also returns after its timeout so a missed event only delays a read, never loses it.
+public class LaneFileWatcher implements Closeable {
+
+    private final WatchService watchService;
+
+    public LaneFileWatcher(Path directory) {
+        WatchService ws = null;
+        try {
+            ws = FileSystems.getDefault().newWatchService();
+            directory.toAbsolutePath().register(ws,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            closeQuietly(ws);
+            ws = null;
+        }
+        this.watchService = ws;
+    }
+
+    public boolean isWatching() {
+        return watchService != null;
+    }
+
+    // Passes the file name (relative to the directory) of every changed entry to onChange, or null
+    // after an overflow, when any file may have changed. Returns true if a change was reported
+    public boolean await(long timeoutMs, Consumer<Path> onChange) throws InterruptedException {
+        if (watchService == null) {
+            TimeUnit.MILLISECONDS.sleep(timeoutMs);
+            return false;
+        }
+        try {
+            WatchKey key = watchService.poll(timeoutMs, TimeUnit.MILLISECONDS);
+            if (key == null) return false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                onChange.accept(event.kind() == StandardWatchEventKinds.OVERFLOW ? null : (Path) event.context());
+            }
+            key.reset();
+            return true;
+        } catch (ClosedWatchServiceException e) {
+            TimeUnit.MILLISECONDS.sleep(timeoutMs);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(watchService);
+    }
+
+    private static void closeQuietly(WatchService ws) {
+        if (ws == null) return;
+        try {
+            ws.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.traffic.ingest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+// Names and format of the per-road lane logs shared by generator and simulator.
+// -Dtraffic.lane.format=mapped switches both processes to the binary memory-mapped ring,
+// the default CSV text files stay readable for debugging.
+public final class LaneFiles {
+
+    public enum Format { CSV, MAPPED }
+
+    public static final String FORMAT_PROPERTY = "traffic.lane.format";
+
+    private LaneFiles() {
+    }
+
+    public static Format format() {
+        String value = System.getProperty(FORMAT_PROPERTY, "csv");
+        return "mapped".equalsIgnoreCase(value.trim()) ? Format.MAPPED : Format.CSV;
+    }
+
+    // "lanea.txt" for CSV, "lanea.bin" for the mapped log
+    public static Path path(String roadId, Format format) {
+        String ext = (format == Format.MAPPED) ? ".bin" : ".txt";
+        return Paths.get("lane" + roadId.toLowerCase(Locale.ROOT) + ext);
+    }
+
+    public static LaneReader openReader(String roadId, Format format) {
+        Path path = path(roadId, format);
+        return (format == Format.MAPPED) ? new MappedLaneReader(path) : new LaneFileTailer(path);
+    }
+}
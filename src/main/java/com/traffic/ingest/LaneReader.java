@@ -0,0 +1,17 @@
+package com.traffic.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Consumer side of one road's lane log (CSV text file or memory-mapped binary ring)
+public interface LaneReader extends Closeable {
+
+    // Skip what is already in the log, only records appended from now on are read
+    void seekToEnd() throws IOException;
+
+    // Dispatches every record appended since the last poll, returns how many were read
+    int poll(LaneRecordHandler handler) throws IOException;
+
+    // Bytes written by the producer but not consumed yet
+    long lagBytes();
+}
@@ -0,0 +1,6 @@
+package com.traffic.ingest;
+
+// Receives each parsed "id,lane,time" record from a lane file
+public interface LaneRecordHandler {
+    void onRecord(long vehicleId, int lane, long time);
+}
@@ -0,0 +1,88 @@
+package com.traffic.ingest;
+
+import com.traffic.core.Roads;
+import com.traffic.core.VehicleId;
+
+import java.nio.ByteBuffer;
+
+// Allocation-free parser for lane file records: "A2B1-10004,2,1766812345678"
+// (vehicle id, source lane, epoch millis written by the generator).
+public final class LaneRecordParser {
+
+    private LaneRecordParser() {
+    }
+
+    // Parses the bytes [start, end) of buf (absolute indexes, a trailing '\r' is ignored) and
+    // passes the record to handler. Returns false for a malformed line.
+    public static boolean parse(ByteBuffer buf, int start, int end, LaneRecordHandler handler) {
+        if (end > start && buf.get(end - 1) == '\r') end--;
+
+        int comma1 = indexOf(buf, start, end, (byte) ',');
+        if (comma1 < 0) return false;
+
+        long id = parseVehicleId(buf, start, comma1);
+        if (id == VehicleId.NONE) return false;
+
+        int comma2 = indexOf(buf, comma1 + 1, end, (byte) ',');
+        int laneEnd = comma2 < 0 ? end : comma2;
+        long lane = parseLong(buf, comma1 + 1, laneEnd);
+        if (lane < 0 || lane > 9) return false;
+
+        // older files have no timestamp column
+        long time = comma2 < 0 ? 0 : parseLong(buf, comma2 + 1, end);
+        if (time < 0) return false;
+
+        handler.onRecord(id, (int) lane, time);
+        return true;
+    }
+
+    // Same layout as VehicleId.parse(CharSequence), read straight from the bytes
+    public static long parseVehicleId(ByteBuffer buf, int start, int end) {
+        while (start < end && buf.get(start) == ' ') start++;
+        while (end > start && buf.get(end - 1) == ' ') end--;
+        if (end - start < 6 || buf.get(start + 4) != '-') return VehicleId.NONE;
+
+        int srcRoad = road(buf.get(start));
+        int srcLane = digit(buf.get(start + 1));
+        int dstRoad = road(buf.get(start + 2));
+        int dstLane = digit(buf.get(start + 3));
+        if ((srcRoad | srcLane | dstRoad | dstLane) < 0) return VehicleId.NONE;
+
+        // must fit the 44-bit sequence field, or two records could pack to the same id
+        long seq = parseLong(buf, start + 5, end);
+        if (seq < 0 || seq > VehicleId.MAX_SEQ) return VehicleId.NONE;
+        return VehicleId.of(srcRoad, srcLane, dstRoad, dstLane, seq);
+    }
+
+    // Non-negative decimal, -1 if empty, malformed or overflowing; surrounding spaces are skipped
+    static long parseLong(ByteBuffer buf, int start, int end) {
+        while (start < end && buf.get(start) == ' ') start++;
+        while (end > start && buf.get(end - 1) == ' ') end--;
+        if (start == end || end - start > 18) return -1;
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    static int indexOf(ByteBuffer buf, int start, int end, byte b) {
+        for (int i = start; i < end; i++) {
+            if (buf.get(i) == b) return i;
+        }
+        return -1;
+    }
+
+    private static int road(byte c) {
+        int r = c - 'A';
+        return (r >= 0 && r < Roads.COUNT) ? r : -1;
+    }
+
+    private static int digit(byte c) {
+        int d = c - '0';
+        return (d >= 0 && d <= 9) ? d : -1;
+    }
+}
@@ -0,0 +1,53 @@
+package com.traffic.ingest;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+// Layout of the memory-mapped binary lane log, a single-producer/single-consumer ring shared
+// between the generator process (MappedLaneWriter) and the simulator (MappedLaneReader).
+//
+//   0   int  magic "TLOG"
+//   4   int  version
+//   8   int  capacity (records, power of two)
+//   12  int  record size
+//   64  long write cursor: records published, stored with release semantics by the producer
+//   128 long read cursor: records consumed, stored with release semantics by the consumer
+//   192 records, RECORD_SIZE bytes each: long vehicleId, long time, int lane, int reserved
+//
+// The cursors sit on their own cache lines and only ever grow; slot = cursor & (capacity - 1).
+final class MappedLaneLog {
+
+    static final int MAGIC = 0x544C4F47;
+    static final int VERSION = 1;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int CAPACITY_OFFSET = 8;
+    static final int RECORD_SIZE_OFFSET = 12;
+    static final int WRITE_CURSOR_OFFSET = 64;
+    static final int READ_CURSOR_OFFSET = 128;
+    static final int HEADER_SIZE = 192;
+
+    static final int RECORD_SIZE = 24;
+    static final int ID_OFFSET = 0;
+    static final int TIME_OFFSET = 8;
+    static final int LANE_OFFSET = 16;
+
+    static final int DEFAULT_CAPACITY = 1 << 20; // ~24 MB per road
+
+    // Acquire/release access to the header fields inside the mapped buffer
+    static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private MappedLaneLog() {
+    }
+
+    static long fileSize(int capacity) {
+        return HEADER_SIZE + (long) capacity * RECORD_SIZE;
+    }
+
+    static int recordOffset(long cursor, int mask) {
+        return HEADER_SIZE + (int) (cursor & mask) * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,114 @@
+package com.traffic.ingest;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+import static com.traffic.ingest.MappedLaneLog.*;
+
+// Consumer side of the memory-mapped lane log. Records are read straight out of the mapping
+// (no copy, no system call per record) and the read cursor is published back so the
+// producer can reuse the slots. Not thread-safe: poll from one thread only.
+public class MappedLaneReader implements LaneReader {
+
+    // How often to check whether the generator recreated the file
+    private static final long REOPEN_CHECK_MS = 1000;
+
+    private final Path file;
+
+    private MappedByteBuffer map;
+    private Object fileKey;
+    private int mask;
+    private long readCursor;
+    private long lastReopenCheck;
+
+    public MappedLaneReader(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void seekToEnd() throws IOException {
+        if (!ensureOpen()) return;
+        readCursor = (long) LONGS.getAcquire(map, WRITE_CURSOR_OFFSET);
+        LONGS.setRelease(map, READ_CURSOR_OFFSET, readCursor);
+    }
+
+    @Override
+    public int poll(LaneRecordHandler handler) throws IOException {
+        checkRecreated();
+        if (!ensureOpen()) return 0;
+
+        long writeCursor = (long) LONGS.getAcquire(map, WRITE_CURSOR_OFFSET);
+        if (writeCursor == readCursor) return 0;
+
+        int count = 0;
+        while (readCursor < writeCursor) {
+            int at = recordOffset(readCursor, mask);
+            handler.onRecord(map.getLong(at + ID_OFFSET), map.getInt(at + LANE_OFFSET), map.getLong(at + TIME_OFFSET));
+            readCursor++;
+            count++;
+        }
+        LONGS.setRelease(map, READ_CURSOR_OFFSET, readCursor);
+        return count;
+    }
+
+    @Override
+    public long lagBytes() {
+        if (map == null) return 0;
+        return ((long) LONGS.getAcquire(map, WRITE_CURSOR_OFFSET) - readCursor) * RECORD_SIZE;
+    }
+
+    @Override
+    public void close() {
+        // the mapping is released when the buffer is collected
+        map = null;
+    }
+
+    private boolean ensureOpen() throws IOException {
+        if (map != null) return true;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (ch.size() < HEADER_SIZE) return false;
+
+            MappedByteBuffer header = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.nativeOrder());
+            if ((int) INTS.getAcquire(header, MAGIC_OFFSET) != MAGIC) return false; // writer still initialising
+            if (header.getInt(VERSION_OFFSET) != VERSION || header.getInt(RECORD_SIZE_OFFSET) != RECORD_SIZE) {
+                throw new IOException("Unsupported lane log format: " + file);
+            }
+
+            int capacity = header.getInt(CAPACITY_OFFSET);
+            map = ch.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+            map.order(ByteOrder.nativeOrder());
+            mask = capacity - 1;
+            fileKey = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+            readCursor = (long) LONGS.getAcquire(map, READ_CURSOR_OFFSET);
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private void checkRecreated() throws IOException {
+        long now = System.currentTimeMillis();
+        if (map == null || now - lastReopenCheck < REOPEN_CHECK_MS) return;
+        lastReopenCheck = now;
+
+        Object key;
+        try {
+            key = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            key = null;
+        }
+        if (key == null || !Objects.equals(key, fileKey)) {
+            close();
+            readCursor = 0;
+        }
+    }
+}
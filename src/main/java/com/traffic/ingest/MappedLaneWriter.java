@@ -0,0 +1,81 @@
+package com.traffic.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.traffic.ingest.MappedLaneLog.*;
+
+// Producer side of the memory-mapped lane log: each append is a few stores into the mapping
+// plus one release store of the write cursor, no system call per record.
+public class MappedLaneWriter implements Closeable {
+
+    private final MappedByteBuffer map;
+    private final int mask;
+    private long writeCursor;
+    private long dropped;
+
+    // Creates the log file with room for capacity records. An existing file is deleted and created
+    // again rather than truncated: a reader may still have the old one mapped, and shrinking a mapped
+    // file makes its next access fault (SIGBUS). The new file has a new file key, which MappedLaneReader
+    // notices and remaps.
+    public MappedLaneWriter(Path file, int capacity) throws IOException {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+
+        Files.deleteIfExists(file);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            map = ch.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+        }
+        map.order(ByteOrder.nativeOrder());
+        mask = capacity - 1;
+
+        map.putInt(VERSION_OFFSET, VERSION);
+        map.putInt(CAPACITY_OFFSET, capacity);
+        map.putInt(RECORD_SIZE_OFFSET, RECORD_SIZE);
+        LONGS.setRelease(map, WRITE_CURSOR_OFFSET, 0L);
+        LONGS.setRelease(map, READ_CURSOR_OFFSET, 0L);
+        // magic last: a reader never sees a half-initialised header
+        INTS.setRelease(map, MAGIC_OFFSET, MAGIC);
+    }
+
+    public MappedLaneWriter(Path file) throws IOException {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    // Returns false (and counts a drop) when the consumer is a full ring behind
+    public boolean append(long vehicleId, int lane, long time) {
+        long readCursor = (long) LONGS.getAcquire(map, READ_CURSOR_OFFSET);
+        if (writeCursor - readCursor > mask) {
+            dropped++;
+            return false;
+        }
+
+        int at = recordOffset(writeCursor, mask);
+        map.putLong(at + ID_OFFSET, vehicleId);
+        map.putLong(at + TIME_OFFSET, time);
+        map.putInt(at + LANE_OFFSET, lane);
+
+        writeCursor++;
+        LONGS.setRelease(map, WRITE_CURSOR_OFFSET, writeCursor);
+        return true;
+    }
+
+    public long getWritten() { return writeCursor; }
+    public long getDropped() { return dropped; }
+
+    // Pushes the dirty pages to disk; not needed for the consumer to see the records
+    public void force() {
+        map.force();
+    }
+
+    @Override
+    public void close() {
+        map.force();
+    }
+}
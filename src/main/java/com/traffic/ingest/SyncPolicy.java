@@ -0,0 +1,20 @@
+package com.traffic.ingest;
+
+import java.util.Locale;
+
+// When a lane writer forces written batches to the storage device
+public enum SyncPolicy {
+    NONE,         // leave it to the OS page cache
+    PER_BATCH,    // fsync after every flushed batch
+    PER_INTERVAL; // fsync at most once per sync interval
+
+    public static SyncPolicy parse(String name, SyncPolicy fallback) {
+        if (name == null) return fallback;
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "none": return NONE;
+            case "batch": case "per_batch": return PER_BATCH;
+            case "interval": case "per_interval": return PER_INTERVAL;
+            default: return fallback;
+        }
+    }
+}
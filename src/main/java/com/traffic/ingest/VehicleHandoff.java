@@ -0,0 +1,103 @@
+package com.traffic.ingest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded lock-free multi-producer/single-consumer handoff of parsed vehicles: lane reader threads
+// offer() records, the scheduler thread drains them in batches. Same per-slot sequence scheme as the
+// EventLog ring (Vyukov style): a producer claims a slot with one CAS on the tail, fills the primitive
+// arrays and publishes with a release store of the slot sequence; the consumer never writes shared
+// state except the sequence that hands the slot back. Nothing blocks and nothing is allocated.
+public class VehicleHandoff {
+
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    // Receives drained vehicles on the consumer thread
+    public interface Consumer {
+        void onVehicle(int roadIndex, int lane, long vehicleId, long time);
+    }
+
+    private final long[] ids;
+    private final long[] times;
+    private final int[] roadLanes;          // roadIndex << 4 | lane
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();   // written by the consumer only, read by size()
+
+    private final LongAdder rejected = new LongAdder();
+
+    public VehicleHandoff() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public VehicleHandoff(int requested) {
+        int cap = Integer.highestOneBit(Math.max(2, requested) - 1) << 1;
+        ids = new long[cap];
+        times = new long[cap];
+        roadLanes = new int[cap];
+        sequences = new AtomicLongArray(cap);
+        for (int i = 0; i < cap; i++) sequences.set(i, i);
+        mask = cap - 1;
+    }
+
+    // Any thread. Returns false (and counts it) when the handoff is full; the caller decides whether to retry
+    public boolean offer(int roadIndex, int lane, long vehicleId, long time) {
+        long pos;
+        int idx;
+        while (true) {
+            pos = tail.get();
+            idx = (int) pos & mask;
+            long seq = sequences.getAcquire(idx);
+            if (seq == pos) {
+                if (tail.compareAndSet(pos, pos + 1)) break;
+            } else if (seq < pos) {
+                rejected.increment();
+                return false;
+            }
+        }
+
+        ids[idx] = vehicleId;
+        times[idx] = time;
+        roadLanes[idx] = roadIndex << 4 | lane;
+        sequences.setRelease(idx, pos + 1);
+        return true;
+    }
+
+    // Consumer thread only. Hands at most max published vehicles to the consumer, returns how many
+    public int drain(Consumer consumer, int max) {
+        long h = head.getPlain();
+        int count = 0;
+        while (count < max) {
+            int idx = (int) h & mask;
+            if (sequences.getAcquire(idx) != h + 1) break;
+
+            long id = ids[idx];
+            long time = times[idx];
+            int roadLane = roadLanes[idx];
+            sequences.setRelease(idx, h + ids.length);
+            head.setRelease(++h);
+            count++;
+
+            consumer.onVehicle(roadLane >>> 4, roadLane & 0xF, id, time);
+        }
+        return count;
+    }
+
+    // Any thread; a snapshot while producers or the consumer are active. head is read before tail
+    // and neither ever decreases, so the result is never negative
+    public int size() {
+        long h = head.getAcquire();
+        return (int) (tail.get() - h);
+    }
+
+    public int capacity() {
+        return ids.length;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,90 @@
+package com.traffic.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Sequential reader of a run journal. next() loads the following record into the accessors;
+// a record cut off at the end of the file (run killed mid-write) is ignored.
+public class JournalReader implements Closeable {
+
+    public static final int ARRIVAL = RunJournal.ARRIVAL;
+    public static final int DECISION = RunJournal.DECISION;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RunJournal.BUFFER_SIZE);
+    private boolean eof;
+
+    private int kind;
+    private int road;
+    private int lane;
+    private long time;
+    private long vehicleId;
+
+    public JournalReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer.limit(0);
+        if (!fill(RunJournal.HEADER_SIZE) || buffer.getInt() != RunJournal.MAGIC) {
+            channel.close();
+            throw new IOException("Not a run journal: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != RunJournal.VERSION) {
+            channel.close();
+            throw new IOException("Unsupported journal version " + version + ": " + file);
+        }
+    }
+
+    public boolean next() throws IOException {
+        if (!fill(1)) return false;
+        byte type = buffer.get(buffer.position());
+        switch (type) {
+            case RunJournal.ARRIVAL:
+                if (!fill(RunJournal.ARRIVAL_SIZE)) return false;
+                buffer.get();
+                int roadLane = buffer.get();
+                road = roadLane >>> 4;
+                lane = roadLane & 0xF;
+                time = buffer.getLong();
+                vehicleId = buffer.getLong();
+                break;
+            case RunJournal.DECISION:
+                if (!fill(RunJournal.DECISION_SIZE)) return false;
+                buffer.get();
+                road = buffer.get();
+                lane = 0;
+                time = buffer.getLong();
+                vehicleId = 0;
+                break;
+            default:
+                throw new IOException("Corrupt journal record type " + type);
+        }
+        kind = type;
+        return true;
+    }
+
+    public int kind() { return kind; }
+    public int road() { return road; }
+    public int lane() { return lane; }
+    public long time() { return time; }
+    public long vehicleId() { return vehicleId; }
+
+    // Make at least n bytes available, reading more of the file if needed
+    private boolean fill(int n) throws IOException {
+        while (buffer.remaining() < n) {
+            if (eof) return false;
+            buffer.compact();
+            if (channel.read(buffer) < 0) eof = true;
+            buffer.flip();
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,84 @@
+package com.traffic.journal;
+
+import com.traffic.core.Roads;
+import com.traffic.core.SimulationListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Listener that records arrivals and scheduler decisions to a run journal (see RunJournal).
+// Records are batched in a 64KB buffer; close() writes what is left.
+public class JournalRecorder implements SimulationListener, Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RunJournal.BUFFER_SIZE);
+
+    private long arrivals;
+    private long decisions;
+    private boolean closed;
+
+    public JournalRecorder(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(RunJournal.MAGIC).putInt(RunJournal.VERSION);
+    }
+
+    @Override
+    public void onArrival(String roadId, int laneNumber, long vehicleId, long time) {
+        if (closed) return;
+        ensureRoom();
+        buffer.put(RunJournal.ARRIVAL)
+                .put((byte) (Roads.indexOf(roadId) << 4 | laneNumber))
+                .putLong(time)
+                .putLong(vehicleId);
+        arrivals++;
+    }
+
+    @Override
+    public void onCycleStart(String roadId, long time) {
+        if (closed) return;
+        ensureRoom();
+        buffer.put(RunJournal.DECISION)
+                .put((byte) Roads.indexOf(roadId))
+                .putLong(time);
+        decisions++;
+    }
+
+    public long getArrivals() { return arrivals; }
+    public long getDecisions() { return decisions; }
+    public Path getFile() { return file; }
+
+    private void ensureRoom() {
+        if (buffer.remaining() < RunJournal.MAX_RECORD_SIZE) {
+            try {
+                writeBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write journal " + file, e);
+            }
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            writeBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+}
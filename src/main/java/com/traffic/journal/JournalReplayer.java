@@ -0,0 +1,81 @@
+package com.traffic.journal;
+
+import com.traffic.core.PhaseController;
+import com.traffic.core.Roads;
+import com.traffic.core.SchedulingPolicy;
+import com.traffic.core.SimulationEngine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Re-runs a recorded journal against a fresh SimulationEngine at full speed: arrivals are enqueued
+// as recorded, and at every recorded decision the scheduler picks a road again and releases it.
+// A decision that differs from the recorded one is a mismatch; replay continues with the new choice.
+// Replay with a different -Dtraffic.scheduler to see where another policy would have decided otherwise;
+// the phase controller must match the recorded run.
+public class JournalReplayer {
+
+    public static Result replay(Path journal) throws IOException {
+        SimulationEngine engine = new SimulationEngine();
+        engine.setPhaseController(PhaseController.fromProperty());
+        engine.setSchedulingPolicy(SchedulingPolicy.fromProperty());
+        return replay(journal, engine);
+    }
+
+    public static Result replay(Path journal, SimulationEngine engine) throws IOException {
+        Result result = new Result();
+        long started = System.nanoTime();
+
+        try (JournalReader in = new JournalReader(journal)) {
+            while (in.next()) {
+                engine.advanceTo(in.time());
+                if (in.kind() == JournalReader.ARRIVAL) {
+                    engine.enqueue(Roads.idOf(in.road()), in.lane(), in.vehicleId());
+                    result.arrivals++;
+                    continue;
+                }
+
+                String road = engine.selectRoad();
+                if (Roads.indexOf(road) != in.road()) {
+                    if (result.mismatches == 0) {
+                        result.firstMismatch = result.decisions;
+                        result.firstMismatchTime = in.time();
+                        result.expectedRoad = Roads.idOf(in.road());
+                        result.actualRoad = road;
+                    }
+                    result.mismatches++;
+                }
+                engine.startGreen(road);
+                result.decisions++;
+            }
+        }
+
+        result.elapsedNs = System.nanoTime() - started;
+        return result;
+    }
+
+    public static class Result {
+        long arrivals;
+        long decisions;
+        long mismatches;
+        long firstMismatch = -1;     // decision index
+        long firstMismatchTime;
+        String expectedRoad;
+        String actualRoad;
+        long elapsedNs;
+
+        public long getArrivals() { return arrivals; }
+        public long getDecisions() { return decisions; }
+        public long getMismatches() { return mismatches; }
+        public long getFirstMismatch() { return firstMismatch; }
+        public long getElapsedNs() { return elapsedNs; }
+        public boolean isIdentical() { return mismatches == 0; }
+
+        @Override
+        public String toString() {
+            if (mismatches == 0) return decisions + " decisions identical";
+            return mismatches + " of " + decisions + " decisions differ, first at #" + firstMismatch
+                    + " (t=" + firstMismatchTime + "ms): recorded " + expectedRoad + ", replayed " + actualRoad;
+        }
+    }
+}
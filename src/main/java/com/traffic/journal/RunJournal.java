@@ -0,0 +1,28 @@
+package com.traffic.journal;
+
+// Layout of a run journal: every arrival and every scheduler decision of one run, in the order
+// the engine saw them, so the run can be replayed against the scheduler without the generator or GUI.
+//
+//   header   int magic "TRJ1", int version
+//   arrival  byte ARRIVAL,  byte road << 4 | lane, long time, long vehicleId   (18 bytes)
+//   decision byte DECISION, byte road,             long time                   (10 bytes)
+//
+// Big-endian (ByteBuffer default), times are the engine's clock in ms.
+final class RunJournal {
+
+    static final int MAGIC = 0x54524A31;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    static final byte ARRIVAL = 1;
+    static final byte DECISION = 2;
+
+    static final int ARRIVAL_SIZE = 18;
+    static final int DECISION_SIZE = 10;
+    static final int MAX_RECORD_SIZE = ARRIVAL_SIZE;
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private RunJournal() {
+    }
+}
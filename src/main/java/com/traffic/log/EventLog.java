@@ -0,0 +1,249 @@
+package com.traffic.log;
+
+import com.traffic.core.VehicleId;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Structured, level-gated, asynchronous event log.
+//
+// Callers pass an event name plus primitive fields, so a disabled level costs one volatile read
+// and an enabled one costs a slot claim in a bounded ring buffer: no formatting, no locks and no
+// stdout I/O on the calling thread. A background daemon drains the ring in batches, formats
+// "time LEVEL event road=.. vehicle=.. key=value" lines and flushes once per batch.
+// When the ring is full the event is dropped and counted (see getDropped()).
+//
+// Configuration (system properties):
+//   traffic.log.level    TRACE|DEBUG|INFO|WARN|ERROR|OFF (default INFO)
+//   traffic.log.file     append to this file instead of stdout
+//   traffic.log.capacity ring size, rounded up to a power of two (default 8192)
+public final class EventLog {
+
+    private static final DateTimeFormatter TIME =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static volatile int threshold =
+            LogLevel.parse(System.getProperty("traffic.log.level"), LogLevel.INFO).ordinal();
+
+    private static final Ring RING = new Ring(Integer.getInteger("traffic.log.capacity", 8192));
+
+    // Idle writer back-off: the park doubles from MIN to MAX while the ring stays empty, so an idle
+    // simulator wakes the writer about ten times a second instead of a thousand, and a line logged
+    // after a quiet spell shows up at most MAX later. Producers never have to signal the writer.
+    private static final long MIN_IDLE_PARK_NS = 1_000_000L;
+    private static final long MAX_IDLE_PARK_NS = 100_000_000L;
+    private static final LongAdder DROPPED = new LongAdder();
+    private static final Thread WRITER;
+    private static volatile boolean stopping = false;
+
+    static {
+        WRITER = new Thread(EventLog::drainLoop, "event-log-writer");
+        WRITER.setDaemon(true);
+        WRITER.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(EventLog::shutdown, "event-log-shutdown"));
+    }
+
+    private EventLog() {
+    }
+
+    public static boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public static void setLevel(LogLevel level) {
+        threshold = level.ordinal();
+    }
+
+    public static long getDropped() {
+        return DROPPED.sum();
+    }
+
+    public static void log(LogLevel level, String event) {
+        if (level.ordinal() < threshold) return;
+        RING.publish(level, event, null, VehicleId.NONE, null, 0, null, 0);
+    }
+
+    public static void log(LogLevel level, String event, String road) {
+        if (level.ordinal() < threshold) return;
+        RING.publish(level, event, road, VehicleId.NONE, null, 0, null, 0);
+    }
+
+    public static void log(LogLevel level, String event, String road, String key, long value) {
+        if (level.ordinal() < threshold) return;
+        RING.publish(level, event, road, VehicleId.NONE, key, value, null, 0);
+    }
+
+    public static void log(LogLevel level, String event, String road,
+                           String key1, long value1, String key2, long value2) {
+        if (level.ordinal() < threshold) return;
+        RING.publish(level, event, road, VehicleId.NONE, key1, value1, key2, value2);
+    }
+
+    // Event about one vehicle; the packed id is only formatted by the writer thread
+    public static void vehicle(LogLevel level, String event, String road, long vehicleId, String key, long value) {
+        if (level.ordinal() < threshold) return;
+        RING.publish(level, event, road, vehicleId, key, value, null, 0);
+    }
+
+    private static void drainLoop() {
+        Writer out = openOutput();
+        StringBuilder line = new StringBuilder(128);
+        long reportedDrops = 0;
+        long idlePark = MIN_IDLE_PARK_NS;
+
+        while (true) {
+            int drained = 0;
+            try {
+                Slot slot;
+                while (drained < 1024 && (slot = RING.peek()) != null) {
+                    format(line, slot);
+                    RING.release();
+                    out.append(line);
+                    drained++;
+                }
+
+                long drops = DROPPED.sum();
+                if (drops != reportedDrops) {
+                    line.setLength(0);
+                    line.append(TIME.format(Instant.now())).append(" WARN log.dropped total=").append(drops).append('\n');
+                    out.append(line);
+                    reportedDrops = drops;
+                    drained++;
+                }
+
+                if (drained > 0) out.flush();
+            } catch (IOException ignored) {
+                // nowhere left to report it
+            }
+
+            if (drained == 0) {
+                if (stopping) return;
+                LockSupport.parkNanos(idlePark);
+                idlePark = Math.min(idlePark * 2, MAX_IDLE_PARK_NS);
+            } else {
+                idlePark = MIN_IDLE_PARK_NS;
+            }
+        }
+    }
+
+    private static void format(StringBuilder line, Slot slot) {
+        line.setLength(0);
+        line.append(TIME.format(Instant.ofEpochMilli(slot.time)))
+                .append(' ').append(slot.level.name())
+                .append(' ').append(slot.event);
+        if (slot.road != null) line.append(" road=").append(slot.road);
+        if (slot.vehicle != VehicleId.NONE) VehicleId.appendTo(line.append(" vehicle="), slot.vehicle);
+        if (slot.key1 != null) line.append(' ').append(slot.key1).append('=').append(slot.value1);
+        if (slot.key2 != null) line.append(' ').append(slot.key2).append('=').append(slot.value2);
+        line.append('\n');
+    }
+
+    private static Writer openOutput() {
+        String file = System.getProperty("traffic.log.file");
+        OutputStream os = System.out;
+        if (file != null) {
+            try {
+                os = new FileOutputStream(file, true);
+            } catch (IOException e) {
+                System.err.println("Cannot open log file " + file + ": " + e.getMessage());
+            }
+        }
+        return new OutputStreamWriter(os, StandardCharsets.UTF_8);
+    }
+
+    // Lets the writer drain what is already queued before the JVM exits
+    private static void shutdown() {
+        stopping = true;
+        LockSupport.unpark(WRITER);
+        try {
+            WRITER.join(2000);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Slot {
+        LogLevel level;
+        long time;
+        String event;
+        String road;
+        long vehicle;
+        String key1;
+        long value1;
+        String key2;
+        long value2;
+    }
+
+    // Bounded multi-producer/single-consumer ring (per-slot sequence numbers, Vyukov style).
+    // Slots are preallocated and reused, so publishing allocates nothing.
+    private static final class Ring {
+
+        private final Slot[] slots;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private long head; // consumer only
+
+        Ring(int requested) {
+            int cap = Integer.highestOneBit(Math.max(2, requested) - 1) << 1;
+            slots = new Slot[cap];
+            sequences = new AtomicLongArray(cap);
+            for (int i = 0; i < cap; i++) {
+                slots[i] = new Slot();
+                sequences.set(i, i);
+            }
+            mask = cap - 1;
+        }
+
+        void publish(LogLevel level, String event, String road, long vehicle,
+                     String key1, long value1, String key2, long value2) {
+            long pos;
+            int idx;
+            while (true) {
+                pos = tail.get();
+                idx = (int) pos & mask;
+                long seq = sequences.get(idx);
+                if (seq == pos) {
+                    if (tail.compareAndSet(pos, pos + 1)) break;
+                } else if (seq < pos) {
+                    DROPPED.increment(); // full
+                    return;
+                }
+            }
+
+            Slot s = slots[idx];
+            s.level = level;
+            s.time = System.currentTimeMillis();
+            s.event = event;
+            s.road = road;
+            s.vehicle = vehicle;
+            s.key1 = key1;
+            s.value1 = value1;
+            s.key2 = key2;
+            s.value2 = value2;
+            sequences.lazySet(idx, pos + 1);
+        }
+
+        Slot peek() {
+            int idx = (int) head & mask;
+            return sequences.get(idx) == head + 1 ? slots[idx] : null;
+        }
+
+        void release() {
+            int idx = (int) head & mask;
+            sequences.lazySet(idx, head + slots.length);
+            head++;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.traffic.metrics;
+
+import java.util.Arrays;
+
+// HDR-style histogram of non-negative long values (ms, ns, ...) with ~1% precision:
+// values below 256 get their own bucket, above that each power of two is split into 128 buckets.
+// record() is an index computation and an array increment, no allocation and no locking.
+// One thread records; readers on other threads see a slightly stale but usable view.
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (63 - SUB_BUCKET_BITS) * SUB_BUCKETS + 2 * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[indexOf(value)]++;
+        count++;
+        sum += value;
+        if (value > max) max = value;
+    }
+
+    // Bucket = shift * 128 + top 8 bits of the value, shift = position of the highest bit - 7
+    static int indexOf(long value) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    // Largest value that falls into the bucket
+    static long highestValueAt(int index) {
+        int shift = Math.max(0, (index >>> SUB_BUCKET_BITS) - 1);
+        long sub = index - ((long) shift << SUB_BUCKET_BITS);
+        return ((sub + 1) << shift) - 1;
+    }
+
+    // Smallest recorded value v such that `percentile` % of the values are <= v (within bucket precision)
+    public long valueAtPercentile(double percentile) {
+        if (count == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) return Math.min(highestValueAt(i), max);
+        }
+        return max;
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+        count += other.count;
+        sum += other.sum;
+        if (other.max > max) max = other.max;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    public long getCount() { return count; }
+    public long getMax() { return max; }
+    public long getSum() { return sum; }
+    public double getMean() { return count == 0 ? 0 : (double) sum / count; }
+
+    // "n=1290 p50=.. p90=.. p99=.. p99.9=.. max=.."
+    public String summary() {
+        return "n=" + count
+                + " p50=" + valueAtPercentile(50)
+                + " p90=" + valueAtPercentile(90)
+                + " p99=" + valueAtPercentile(99)
+                + " p99.9=" + valueAtPercentile(99.9)
+                + " max=" + max;
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
@@ -0,0 +1,156 @@
+package com.traffic.metrics;
+
+import com.traffic.core.Lane;
+import com.traffic.core.Roads;
+import com.traffic.core.SimulationEngine;
+import com.traffic.core.SimulationListener;
+import com.traffic.ingest.LaneReader;
+import com.traffic.log.EventLog;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Engine listener that counts cycles, arrivals, releases and priority-mode flips in LongAdders,
+// and renders them with the live queue depths, ingest lag and wait times in Prometheus text format.
+// Counters are updated on the engine thread; gauges are read at scrape time from the server thread,
+// so a gauge may be a moment stale but never blocks the simulation.
+public class SimulationMetrics implements SimulationListener {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final SimulationEngine engine;
+    private volatile LaneReader[] laneReaders;
+
+    private final LongAdder cycles = new LongAdder();
+    private final LongAdder priorityFlips = new LongAdder();
+    private final LongAdder[] arrived = new LongAdder[Roads.COUNT];
+    private final LongAdder[] released = new LongAdder[Roads.COUNT];
+    private boolean priorityActive;   // engine thread only
+
+    // Totals at the previous scrape, for the per-second gauges
+    private long lastScrapeNs = System.nanoTime();
+    private long lastCycles;
+    private long lastReleased;
+
+    public SimulationMetrics(SimulationEngine engine) {
+        this.engine = engine;
+        for (int i = 0; i < Roads.COUNT; i++) {
+            arrived[i] = new LongAdder();
+            released[i] = new LongAdder();
+        }
+    }
+
+    // Indexed like Roads.IDS, entries may be null until the readers are opened
+    public void setLaneReaders(LaneReader[] readers) {
+        this.laneReaders = readers;
+    }
+
+    @Override
+    public void onArrival(String roadId, int laneNumber, long vehicleId, long time) {
+        arrived[Roads.indexOf(roadId)].increment();
+    }
+
+    @Override
+    public void onCycleStart(String roadId, long time) {
+        cycles.increment();
+        boolean active = engine.getSchedulingPolicy().isPriorityModeActive();
+        if (active != priorityActive) {
+            priorityActive = active;
+            priorityFlips.increment();
+        }
+    }
+
+    @Override
+    public void onVehicleReleased(String roadId, int laneNumber, long vehicleId, long time) {
+        released[Roads.indexOf(roadId)].increment();
+    }
+
+    public long getCycles() { return cycles.sum(); }
+    public long getPriorityFlips() { return priorityFlips.sum(); }
+
+    public long getReleased() {
+        long total = 0;
+        for (LongAdder r : released) total += r.sum();
+        return total;
+    }
+
+    // Prometheus text exposition format 0.0.4
+    public synchronized String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+
+        header(out, "traffic_queue_depth", "gauge", "Vehicles waiting per road and lane");
+        for (int i = 0; i < Roads.COUNT; i++) {
+            Lane lane = engine.getLane(i);
+            String road = Roads.idOf(i);
+            sample(out, "traffic_queue_depth", road, "lane", "incoming", lane.incomingSize());
+            sample(out, "traffic_queue_depth", road, "lane", "priority", lane.prioritySize());
+            sample(out, "traffic_queue_depth", road, "lane", "leftTurn", lane.leftTurnSize());
+        }
+
+        header(out, "traffic_priority_mode_active", "gauge", "1 while road A priority mode is on");
+        out.append("traffic_priority_mode_active ").append(engine.getSchedulingPolicy().isPriorityModeActive() ? 1 : 0).append('\n');
+        header(out, "traffic_priority_flips_total", "counter", "Times priority mode switched on or off");
+        out.append("traffic_priority_flips_total ").append(priorityFlips.sum()).append('\n');
+
+        long cycleTotal = cycles.sum();
+        long releasedTotal = getReleased();
+        header(out, "traffic_cycles_total", "counter", "Light cycles started");
+        out.append("traffic_cycles_total ").append(cycleTotal).append('\n');
+
+        header(out, "traffic_vehicles_arrived_total", "counter", "Vehicles enqueued per road");
+        for (int i = 0; i < Roads.COUNT; i++) sample(out, "traffic_vehicles_arrived_total", Roads.idOf(i), null, null, arrived[i].sum());
+        header(out, "traffic_vehicles_released_total", "counter", "Vehicles released per road");
+        for (int i = 0; i < Roads.COUNT; i++) sample(out, "traffic_vehicles_released_total", Roads.idOf(i), null, null, released[i].sum());
+
+        // rates since the previous scrape; with Prometheus prefer rate() over the _total counters
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-9, (now - lastScrapeNs) / 1e9);
+        header(out, "traffic_cycles_per_second", "gauge", "Cycles per second since the previous scrape");
+        out.append("traffic_cycles_per_second ").append(format((cycleTotal - lastCycles) / seconds)).append('\n');
+        header(out, "traffic_released_per_second", "gauge", "Vehicles released per second since the previous scrape");
+        out.append("traffic_released_per_second ").append(format((releasedTotal - lastReleased) / seconds)).append('\n');
+        lastScrapeNs = now;
+        lastCycles = cycleTotal;
+        lastReleased = releasedTotal;
+
+        LaneReader[] readers = laneReaders;
+        if (readers != null) {
+            header(out, "traffic_ingest_lag_bytes", "gauge", "Bytes written to a lane file but not read yet");
+            for (int i = 0; i < readers.length; i++) {
+                if (readers[i] != null) sample(out, "traffic_ingest_lag_bytes", Roads.idOf(i), null, null, readers[i].lagBytes());
+            }
+        }
+
+        header(out, "traffic_wait_ms", "summary", "Time from enqueue to release");
+        for (String road : Roads.IDS) {
+            for (int lane = 2; lane <= 3; lane++) {
+                LatencyHistogram h = engine.getWaitHistogram(road, lane);
+                String labels = "{road=\"" + road + "\",lane=\"" + lane + "\"";
+                for (double q : QUANTILES) {
+                    out.append("traffic_wait_ms").append(labels).append(",quantile=\"").append(q).append("\"} ")
+                            .append(h.valueAtPercentile(q * 100)).append('\n');
+                }
+                out.append("traffic_wait_ms_sum").append(labels).append("} ").append(h.getSum()).append('\n');
+                out.append("traffic_wait_ms_count").append(labels).append("} ").append(h.getCount()).append('\n');
+            }
+        }
+
+        header(out, "traffic_log_dropped_total", "counter", "Log events dropped because the log ring was full");
+        out.append("traffic_log_dropped_total ").append(EventLog.getDropped()).append('\n');
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String road, String key, String value, long v) {
+        out.append(name).append("{road=\"").append(road).append('"');
+        if (key != null) out.append(',').append(key).append("=\"").append(value).append('"');
+        out.append("} ").append(v).append('\n');
+    }
+
+    private static String format(double v) {
+        return String.valueOf(Math.round(v * 1000) / 1000.0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.traffic.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Stress check for Lane.concurrent(), in the spirit of jcstress: one producer thread enqueues into all
+// three lane numbers, one consumer thread dequeues from them and an observer thread keeps reading the
+// sizes. Every vehicle must come out exactly once and in order (nothing lost, nothing duplicated) and
+// no size read may be negative or exceed what was produced.
+// Longer runs: mvn test -Dtest=ConcurrentLaneStressTest -Dtraffic.stress.rounds=50 -Dtraffic.stress.perLane=100000
+class ConcurrentLaneStressTest {
+
+    private static final int ROUNDS = Integer.getInteger("traffic.stress.rounds", 5);
+    private static final int PER_LANE = Integer.getInteger("traffic.stress.perLane", 20_000);
+
+    // One round: how many concurrent size reads the observer made, and the first violation if any
+    record Round(long sizeReads, String failure) {
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void noVehicleLostOrDuplicated() throws InterruptedException {
+        for (int round = 0; round < ROUNDS; round++) {
+            Round result = runRound(PER_LANE);
+            assertNull(result.failure(), "round " + round);
+            assertTrue(result.sizeReads() > 0, "round " + round + ": observer never read the sizes");
+        }
+    }
+
+    static Round runRound(int perLane) throws InterruptedException {
+        Lane lane = Lane.concurrent("A");
+        AtomicReference<String> failure = new AtomicReference<>();
+        AtomicLong producedTotal = new AtomicLong();
+        AtomicLong sizeReads = new AtomicLong();
+        long[] nextSeq = new long[4];
+
+        Thread producer = new Thread(() -> {
+            for (int seq = 0; seq < perLane; seq++) {
+                for (int n = 1; n <= 3; n++) {
+                    lane.enqueueToLane(n, VehicleId.of(0, n, 1, 1, seq), seq);
+                }
+                producedTotal.lazySet((seq + 1) * 3L);
+                // let the consumer catch up now and then so both empty and deep queues are exercised
+                if ((seq & 4095) == 0) Thread.yield();
+            }
+        }, "lane-producer");
+
+        Thread consumer = new Thread(() -> {
+            long remaining = perLane * 3L;
+            while (remaining > 0 && failure.get() == null) {
+                boolean idle = true;
+                for (int n = 1; n <= 3; n++) {
+                    // only the consumer removes, so a visible head is still there for dequeue()
+                    long before = lane.headEnqueuedAt(n);
+                    if (before < 0) continue;
+                    long id = dequeue(lane, n);
+                    idle = false;
+                    remaining--;
+                    if (VehicleId.srcLane(id) != n || VehicleId.seq(id) != nextSeq[n] || before != nextSeq[n]) {
+                        failure.compareAndSet(null, "lane " + n + " expected seq " + nextSeq[n]
+                                + " got " + VehicleId.format(id) + " (head time " + before + ")");
+                        return;
+                    }
+                    nextSeq[n]++;
+                }
+                // yield rather than spin, so the round also finishes on a single core
+                if (idle) Thread.yield();
+            }
+            if (lane.totalSIze() != 0) failure.compareAndSet(null, lane.totalSIze() + " left after draining");
+        }, "lane-consumer");
+
+        Thread observer = new Thread(() -> {
+            while (consumer.isAlive()) {
+                int total = lane.incomingSize() + lane.prioritySize() + lane.leftTurnSize();
+                // the counter is read after the sizes and lags by at most the three enqueues in flight
+                long produced = producedTotal.get() + 3;
+                if (total < 0 || total > produced) {
+                    failure.compareAndSet(null, "size read " + total + " with " + produced + " produced");
+                    return;
+                }
+                sizeReads.incrementAndGet();
+                Thread.yield();
+            }
+        }, "lane-observer");
+
+        consumer.start();
+        observer.start();
+        producer.start();
+        producer.join();
+        consumer.join();
+        observer.join();
+
+        for (int n = 1; n <= 3; n++) {
+            if (nextSeq[n] != perLane) {
+                failure.compareAndSet(null, "lane " + n + " delivered " + nextSeq[n] + " of " + perLane);
+            }
+        }
+        return new Round(sizeReads.get(), failure.get());
+    }
+
+    private static long dequeue(Lane lane, int laneNumber) {
+        switch (laneNumber) {
+            case 1: return lane.dequeueFromIncoming();
+            case 2: return lane.dequeueFromPriority();
+            default: return lane.dequeueFromLeftTurn();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.traffic.metrics;
+
+import com.traffic.core.SimulationEngine;
+import com.traffic.core.VehicleId;
+import com.traffic.ingest.LaneReader;
+import com.traffic.ingest.LaneRecordHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Starts the endpoint on a free 127.0.0.1 port, scrapes /metrics over HTTP and checks the
+// queue depth gauges, priority flips, rates and ingest lag in Prometheus text format
+class MetricsServerTest {
+
+    @Test
+    void servesPrometheusTextOnLocalhost() throws Exception {
+        SimulationEngine engine = new SimulationEngine();
+        SimulationMetrics metrics = new SimulationMetrics(engine);
+        engine.setListener(metrics);
+        metrics.setLaneReaders(new LaneReader[]{new FixedLagReader(42), null, null, new FixedLagReader(7)});
+
+        // enough road A priority traffic to switch priority mode on
+        for (int seq = 0; seq < 12; seq++) engine.enqueue("A", 2, VehicleId.of(0, 2, 1, 1, seq));
+        engine.enqueue("C", 3, VehicleId.of(2, 3, 3, 1, 100));
+        engine.runCycle();
+        engine.runCycle();
+
+        try (MetricsServer server = new MetricsServer(metrics, 0)) {
+            assertTrue(server.getPort() > 0);
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/metrics"))
+                            .timeout(Duration.ofSeconds(5)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, response.statusCode());
+            assertEquals(MetricsServer.CONTENT_TYPE, response.headers().firstValue("Content-Type").orElse(""));
+            String body = response.body();
+
+            assertTrue(body.contains("# TYPE traffic_queue_depth gauge\n"), body);
+            assertEquals(engine.getLane("A").prioritySize(), value(body, "traffic_queue_depth{road=\"A\",lane=\"priority\"}"));
+            assertEquals(engine.getLane("C").leftTurnSize(), value(body, "traffic_queue_depth{road=\"C\",lane=\"leftTurn\"}"));
+            assertEquals(0, value(body, "traffic_queue_depth{road=\"B\",lane=\"incoming\"}"));
+
+            assertTrue(body.contains("# TYPE traffic_priority_flips_total counter\n"), body);
+            assertEquals(metrics.getPriorityFlips(), value(body, "traffic_priority_flips_total"));
+            assertTrue(metrics.getPriorityFlips() >= 1, "priority mode never switched on");
+
+            assertTrue(body.contains("# TYPE traffic_cycles_per_second gauge\n"), body);
+            assertTrue(value(body, "traffic_cycles_per_second") >= 0);
+            assertTrue(value(body, "traffic_released_per_second") >= 0);
+
+            assertTrue(body.contains("# TYPE traffic_ingest_lag_bytes gauge\n"), body);
+            assertEquals(42, value(body, "traffic_ingest_lag_bytes{road=\"A\"}"));
+            assertEquals(7, value(body, "traffic_ingest_lag_bytes{road=\"D\"}"));
+            assertFalse(body.contains("traffic_ingest_lag_bytes{road=\"B\"}"), body);
+
+            HttpResponse<String> post = client.send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/metrics"))
+                            .timeout(Duration.ofSeconds(5)).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, post.statusCode());
+        }
+    }
+
+    // The sample value on the line starting with `series `
+    private static double value(String body, String series) {
+        Matcher m = Pattern.compile("^" + Pattern.quote(series) + " (\\S+)$", Pattern.MULTILINE).matcher(body);
+        assertTrue(m.find(), "missing " + series + " in\n" + body);
+        return Double.parseDouble(m.group(1));
+    }
+
+    private static final class FixedLagReader implements LaneReader {
+        private final long lag;
+
+        FixedLagReader(long lag) {
+            this.lag = lag;
+        }
+
+        @Override public void seekToEnd() { }
+        @Override public int poll(LaneRecordHandler handler) { return 0; }
+        @Override public long lagBytes() { return lag; }
+        @Override public void close() throws IOException { }
+    }
+}